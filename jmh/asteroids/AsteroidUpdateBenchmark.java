@@ -0,0 +1,40 @@
+package asteroids;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Moves N asteroids by one simulation step (MotionSystem over the asteroid archetype),
+// wrapping keeps them on screen
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AsteroidUpdateBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int count;
+
+    Archetype asteroids;
+    MotionSystem motion;
+
+    @Setup
+    public void setup() {
+        Rng rng = new Rng(1);
+        asteroids = Asteroid.createArchetype(count);
+        for (int i = 0; i < count; i++) {
+            Asteroid.spawn(asteroids, rng, rng.random(BenchmarkWorld.WIDTH), rng.random(BenchmarkWorld.HEIGHT), i % 3);
+        }
+        motion = new MotionSystem(BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT);
+    }
+
+    @Benchmark
+    public void update() {
+        motion.update(asteroids, 0, asteroids.size(), BenchmarkWorld.DT);
+    }
+}
@@ -0,0 +1,11 @@
+package asteroids;
+
+// Shared setup values for the benchmarks: the game's screen size and simulation step
+final class BenchmarkWorld {
+    static final float WIDTH = 800;
+    static final float HEIGHT = 600;
+    static final float DT = 1.0f / 120.0f;
+
+    private BenchmarkWorld() {
+    }
+}
@@ -0,0 +1,70 @@
+package asteroids;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Bullet-asteroid hit detection with N asteroids on screen. "grid" is the pass
+// GameSimulation.step() runs (grid rebuild plus one query per bullet),
+// "bruteForce" is the nested loop the game used before the broadphase.
+// Only detection is measured, hits are counted but not resolved.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulletCollisionBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int count;
+
+    @Param({"64"})
+    int bulletCount;
+
+    GameSimulation sim;
+
+    @Setup
+    public void setup() {
+        Rng rng = new Rng(1);
+        sim = new GameSimulation(BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT, 1);
+        sim.clearEntities();
+        for (int i = 0; i < count; i++) {
+            sim.spawnAsteroid(rng.random(BenchmarkWorld.WIDTH), rng.random(BenchmarkWorld.HEIGHT), i % 3);
+        }
+        for (int i = 0; i < bulletCount; i++) {
+            sim.fireBullet(rng.random(BenchmarkWorld.WIDTH), rng.random(BenchmarkWorld.HEIGHT), rng.random(6.2831855f));
+        }
+    }
+
+    @Benchmark
+    public int grid() {
+        sim.rebuildAsteroidGrid();
+        int hits = 0;
+        for (int j = sim.getBullets().size() - 1; j >= 0; j--) {
+            if (sim.findBulletHit(j) >= 0) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        Archetype asteroids = sim.getAsteroids();
+        Archetype bullets = sim.getBullets();
+        int hits = 0;
+        for (int i = asteroids.size() - 1; i >= 0; i--) {
+            for (int j = bullets.size() - 1; j >= 0; j--) {
+                if (Asteroid.collidesWith(asteroids, i, bullets.x[j], bullets.y[j])) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,99 @@
+package asteroids;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Cost of N narrowphase tests on candidate pairs the grid would return: every
+// probe lies within 1.5 x size of its asteroid, so some are clear misses, some
+// clear hits and some need the exact outline. "circle" is the plain distance
+// test the game used before, "outline" the two-stage test it uses now; the ship
+// variants compare the old ship circle with the hull-against-outline test.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NarrowphaseBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int count;
+
+    Archetype asteroids;
+    float[] probeX;
+    float[] probeY;
+    Spaceship[] ships;
+
+    @Setup
+    public void setup() {
+        Rng rng = new Rng(1);
+        asteroids = Asteroid.createArchetype(count);
+        probeX = new float[count];
+        probeY = new float[count];
+        ships = new Spaceship[count];
+        for (int i = 0; i < count; i++) {
+            Asteroid.spawn(asteroids, rng, rng.random(BenchmarkWorld.WIDTH), rng.random(BenchmarkWorld.HEIGHT), i % 3);
+
+            float angle = rng.random(6.2831855f);
+            float distance = rng.random(1.5f) * Asteroid.sizeForType(i % 3);
+            probeX[i] = asteroids.x[i] + (float) Math.cos(angle) * distance;
+            probeY[i] = asteroids.y[i] + (float) Math.sin(angle) * distance;
+
+            Spaceship ship = new Spaceship(rng, BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT, probeX[i], probeY[i]);
+            ship.rotate(1);
+            ship.update(rng.random(2)); // random heading
+            ships[i] = ship;
+        }
+    }
+
+    @Benchmark
+    public int circle() {
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            float size = asteroids.margin[i]; // the wrap margin is the asteroid's size
+            float dx = probeX[i] - asteroids.x[i];
+            float dy = probeY[i] - asteroids.y[i];
+            if (dx * dx + dy * dy < size * size) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int outline() {
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (Asteroid.collidesWith(asteroids, i, probeX[i], probeY[i])) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int shipCircle() {
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (ships[i].collidesWith(asteroids.x[i], asteroids.y[i], asteroids.margin[i])) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int shipHull() {
+        int hits = 0;
+        for (int i = 0; i < count; i++) {
+            if (ships[i].collidesWith(asteroids, i)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
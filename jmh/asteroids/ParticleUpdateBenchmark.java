@@ -0,0 +1,46 @@
+package asteroids;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Steps N live particles (ParticleSystem.update). Particles only live 0.3-0.8 s,
+// so expired ones are replaced by new explosions after every step: the numbers
+// are the steady state of continuous explosions, spawning included.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParticleUpdateBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int count;
+
+    Rng rng;
+    ParticleSystem particles;
+
+    @Setup
+    public void setup() {
+        rng = new Rng(1);
+        particles = new ParticleSystem(rng, count);
+        refill();
+    }
+
+    @Benchmark
+    public int update() {
+        particles.update(BenchmarkWorld.DT);
+        refill();
+        return particles.size();
+    }
+
+    private void refill() {
+        while (particles.size() < count) {
+            particles.explode(rng.random(BenchmarkWorld.WIDTH), rng.random(BenchmarkWorld.HEIGHT), 50);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package asteroids;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Applies one step of thrust to N ships (Spaceship.thrust). The ships quickly
+// reach MAX_SPEED, so this covers the speed-limiting path of a held thrust key.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpaceshipThrustBenchmark {
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int count;
+
+    Spaceship[] ships;
+
+    @Setup
+    public void setup() {
+        Rng rng = new Rng(1);
+        ships = new Spaceship[count];
+        for (int i = 0; i < count; i++) {
+            ships[i] = new Spaceship(rng, BenchmarkWorld.WIDTH, BenchmarkWorld.HEIGHT,
+                    rng.random(BenchmarkWorld.WIDTH), rng.random(BenchmarkWorld.HEIGHT));
+        }
+    }
+
+    @Benchmark
+    public void thrust() {
+        for (Spaceship ship : ships) {
+            ship.thrust(BenchmarkWorld.DT);
+        }
+    }
+}
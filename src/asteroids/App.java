@@ -0,0 +1,445 @@
+// https://processing.github.io/processing4-javadocs/
+// LINUX: /snap/processing/current/opt/processing/lib/app/resources/core/library
+// WIN: C:\Program Files\Processing\app\resources\core\library
+
+
+/* Initialization:
+1) last_time initialization in setup() to ensure accurate timing from the first frame.
+2) Readability & Precision: Introduced NANOS_TO_SECONDS constant for clearer time unit conversion.
+3) Simplified the delta time calculation using multiplication instead of division.
+4) Stability: Added MAX_DELTA_TIME (100ms) to prevent large jumps in case of frame rate drops or debugging pauses.
+5) This ensures the circle's movement remains smooth and predictable.
+6) Performance: The calculation is now more efficient with a single multiplication instead of division.*/
+
+package asteroids;
+
+import processing.core.PApplet;
+import java.io.IOException;
+
+public class App extends PApplet {
+    // Options: --scenario=<name> [--frames=<n>] [--report=<file>] runs a stress scenario,
+    // --profile-csv=<file> writes the per-phase frame times on exit,
+    // --record=<file> records the session, --replay=<file> plays a recording back,
+    // --startup-timing prints the time to the first frame and the asset load times,
+    // --pixel-particles draws particles into a pixel buffer with additive blending,
+    // --sprite-asteroids draws asteroids from pre-rasterized rotation sprites,
+    // --fixed-quality keeps full quality instead of adapting it to the frame rate
+    public static void main(String[] args) {
+        PApplet.main("asteroids.App", args);
+    }
+
+    long last_time;
+    float delta_time;
+    long time;
+    static final float NANOS_TO_SECONDS = 1.0f / 1_000_000_000.0f;
+    static final float MAX_DELTA_TIME = 0.1f;
+    static final int WIDTH = 800;
+    static final int HEIGHT = 600;
+
+    // Fixed-step simulation: physics always advances in FIXED_DT steps,
+    // leftover time is carried over to the next batch of steps
+    static final float FIXED_DT = 1.0f / 120.0f;
+    static final int MAX_STEPS_PER_FRAME = 12; // catch-up cap, 0.1 s of simulation
+
+    // Game logic (ship, asteroids, bullets, particles, score), runs without a window
+    GameSimulation sim;
+
+    // During normal play the simulation runs on its own thread and draw() only
+    // renders its latest snapshot. Scenarios and replays step the simulation
+    // from draw() instead, so that every frame gets exactly its share of work.
+    SimulationThread simThread;
+    RenderSnapshot frameSnapshot = new RenderSnapshot(); // used when draw() steps itself
+
+    // Stress scenario mode (--scenario=<name>), null during normal play
+    ScenarioRunner scenario;
+
+    // Input recording (--record) and playback (--replay), null when not used
+    InputRecorder recorder;
+    InputPlayer player;
+
+    // Starfield (visual only, uses its own random numbers)
+    Starfield starfield;
+    final int[] STARS_PER_LAYER = {110, 30, 10}; // 150 stars, far to near
+    final float[] STAR_PARALLAX = {0.0f, 0.04f, 0.1f}; // layer drift relative to the ship
+
+    // Sound effects, mixed on their own thread
+    SoundManager sound;
+
+    // Background loading of sounds and the audio device
+    AssetLoader assets;
+
+    // Heads-up display
+    Hud hud;
+    int shownFPS = 0;
+    long lastFPSUpdate = 0;
+    int hudIntervalMillis = 100; // FPS sampling period
+
+    // Per-phase frame timing, P toggles the overlay. The CSV is written on exit
+    // when --profile-csv is given or the overlay has been opened.
+    FrameProfiler profiler = new FrameProfiler("frame");
+    RenderStats renderStats = new RenderStats(); // culled and simplified draws, shown with the profiler
+    RenderOptions renderOptions = new RenderOptions(); // sprites, pixel particles and detail levels
+
+    // Lowers the quality when the frame rate drops during normal play, null when fixed
+    QualityGovernor governor;
+    String profileCsv;
+    static final String DEFAULT_PROFILE_CSV = "frame-profile.csv";
+
+    public void settings() {
+        size(WIDTH, HEIGHT);
+        smooth(4); // Höchste Anti-Aliasing-Stufe ist 8
+    }
+
+    public void setup() {
+        assets = new AssetLoader(flag("startup-timing"));
+        assets.mark("setup");
+
+        pixelDensity(2);
+        frameRate(60);
+        strokeWeight(4);
+
+        String scenarioName = option("scenario");
+        if (scenarioName != null) {
+            Scenario selected = Scenario.byName(scenarioName);
+            if (selected == null) {
+                System.err.println("Unknown scenario '" + scenarioName + "', available scenarios:\n" + Scenario.list());
+                exit();
+                return;
+            }
+            String frames = option("frames");
+            int scenarioFrames = ScenarioRunner.DEFAULT_FRAMES;
+            if (frames != null) {
+                try {
+                    scenarioFrames = Integer.parseInt(frames);
+                } catch (NumberFormatException e) {
+                    scenarioFrames = 0;
+                }
+                if (scenarioFrames <= 0) {
+                    System.err.println("Invalid --frames '" + frames + "', expected a positive number of frames\n"
+                            + "usage: --scenario=<name> [--frames=<n>] [--report=<file>]");
+                    exit();
+                    return;
+                }
+            }
+            String report = option("report");
+            scenario = new ScenarioRunner(selected, scenarioFrames,
+                    report != null ? report : "scenario-" + scenarioName + ".txt");
+            frameRate(1000); // measure the real cost, not the frame rate cap
+        }
+
+        profileCsv = option("profile-csv");
+
+        String replayPath = option("replay");
+        if (replayPath != null) {
+            try {
+                player = new InputPlayer(replayPath);
+            } catch (IOException e) {
+                System.err.println("Could not open recording: " + e.getMessage());
+                exit();
+                return;
+            }
+            frameRate(1000); // replay as fast as frames can be drawn
+        }
+
+        last_time = System.nanoTime();
+
+        // Load sound files in the background, each effect is silent until it is decoded
+        sound = new SoundManager(new LineAudioOutput());
+        String thrustPath = sketchPath("snd/thrust.wav");
+        String firePath = sketchPath("snd/fire.wav");
+        String explodePath = sketchPath("snd/explode.wav");
+        assets.load("audio device", sound::start);
+        assets.load("snd/thrust.wav", () -> sound.load(SoundManager.THRUST, thrustPath));
+        assets.load("snd/fire.wav", () -> sound.load(SoundManager.FIRE, firePath));
+        assets.load("snd/explode.wav", () -> sound.load(SoundManager.EXPLODE, explodePath));
+        assets.finish();
+
+        // Create the game, a new seed every run (scenarios always use the same one)
+        if (scenario != null) {
+            sim = new GameSimulation(WIDTH, HEIGHT, 1, scenario.getScenario().particleCapacity());
+            scenario.setup(sim);
+        } else if (player != null) {
+            sim = new GameSimulation(WIDTH, HEIGHT, player.getSeed());
+        } else {
+            long seed = System.nanoTime();
+            sim = new GameSimulation(WIDTH, HEIGHT, seed);
+
+            String recordPath = option("record");
+            if (recordPath != null) {
+                try {
+                    recorder = new InputRecorder(recordPath, seed, FIXED_DT);
+                } catch (IOException e) {
+                    System.err.println("Could not start recording: " + e.getMessage());
+                }
+            }
+        }
+        sim.setProfiler(profiler); // the simulation thread replaces this with its own
+        sim.setListener(new GameSimulation.Listener() {
+            public void onFire() {
+                sound.play(SoundManager.FIRE);
+            }
+
+            public void onExplosion() {
+                sound.play(SoundManager.EXPLODE);
+            }
+
+            public void onThrustStart() {
+                sound.loop(SoundManager.THRUST);
+            }
+
+            public void onThrustStop() {
+                sound.stop(SoundManager.THRUST);
+            }
+        });
+
+        assets.mark("game created");
+
+        hud = new Hud(this);
+        if (flag("pixel-particles")) {
+            renderOptions.particleRasterizer = new ParticleRasterizer(createImage(WIDTH, HEIGHT, RGB));
+        }
+        if (flag("sprite-asteroids")) {
+            renderOptions.asteroidSprites = new AsteroidSprites(AsteroidSprites.DEFAULT_ROTATION_STEPS, AsteroidSprites.DEFAULT_BUDGET_BYTES);
+        }
+
+        // Create starfield
+        starfield = new Starfield(this, new Rng(System.nanoTime()), STARS_PER_LAYER, STAR_PARALLAX);
+        assets.mark("hud and starfield");
+
+        if (scenario == null && player == null) {
+            simThread = new SimulationThread(sim, FIXED_DT, MAX_STEPS_PER_FRAME, MAX_DELTA_TIME, sound, recorder);
+            simThread.start();
+            if (!flag("fixed-quality")) {
+                governor = new QualityGovernor();
+            }
+        }
+    }
+
+    public void draw() {
+        profiler.start(FrameProfiler.FRAME);
+        if (scenario != null) {
+            scenario.beginFrame(sim);
+        }
+
+        // Space background (dark blue to black - simple fill)
+        background(5, 5, 15);
+
+        // Calculate delta time
+        time = System.nanoTime();
+        long frameNanos = time - last_time;
+        last_time = time;
+        if (player != null) {
+            if (!player.next()) {
+                System.out.printf("Replay finished, score %d, checksum %016x%n", sim.getScore(), sim.checksum());
+                exit();
+                return;
+            }
+            frameNanos = player.getFrameNanos(); // visuals follow the recorded frame times
+        }
+        delta_time = Math.min(frameNanos * NANOS_TO_SECONDS, MAX_DELTA_TIME);
+
+        // Get this frame's state: the simulation thread's latest snapshot, or step here
+        RenderSnapshot state;
+        float alpha;
+        if (simThread != null) {
+            profiler.start(FrameProfiler.INPUT);
+            simThread.setInputs(readInputs());
+            profiler.stop(FrameProfiler.INPUT);
+            state = simThread.latest();
+            alpha = state.alphaAt(time);
+        } else {
+            if (scenario != null) {
+                // Scenarios simulate a fixed amount per frame, so every run has the same workload
+                for (int i = 0; i < ScenarioRunner.STEPS_PER_FRAME; i++) {
+                    sim.step(FIXED_DT, 0);
+                }
+            } else {
+                // Recorded steps and inputs, the keyboard is ignored
+                player.apply(sim);
+            }
+            frameSnapshot.capture(sim, time, 1, FIXED_DT);
+            state = frameSnapshot;
+            alpha = 1;
+        }
+
+        // Update and draw stars (purely visual, runs at render rate)
+        profiler.start(FrameProfiler.STARS);
+        if (state.isPlayerAlive()) {
+            starfield.update(delta_time, state.getShipVelocityX(), state.getShipVelocityY());
+        } else {
+            starfield.update(delta_time, 0, 0);
+        }
+        starfield.draw(this);
+        profiler.stop(FrameProfiler.STARS);
+
+        // Draw entities between their last two simulated states
+        profiler.start(FrameProfiler.RENDER);
+        state.draw(this, alpha, renderStats, renderOptions);
+        profiler.stop(FrameProfiler.RENDER);
+
+        // FPS display, sampled every 100 ms (less often at lower quality)
+        if (millis() - lastFPSUpdate > hudIntervalMillis) {
+            shownFPS = (int) frameRate;
+            lastFPSUpdate = millis();
+        }
+
+        // HUD panels are cached, they are only redrawn when a value changes
+        profiler.start(FrameProfiler.HUD);
+        hud.update(shownFPS, state.getScore(), state.getLives());
+        hud.draw(this);
+        profiler.stop(FrameProfiler.HUD);
+        float overlayY = profiler.drawOverlay(this, 100, 10);
+        if (simThread != null) {
+            overlayY = simThread.getProfiler().drawOverlay(this, 100, overlayY);
+        }
+        renderStats.drawOverlay(this, 100, overlayY);
+
+        // Game over screen
+        if (state.isGameOver()) {
+            // Semi-transparent overlay
+            fill(0, 0, 0, 200);
+            noStroke();
+            rect(0, 0, WIDTH, HEIGHT);
+
+            // Game Over text
+            fill(255, 50, 50);
+            textSize(64);
+            textAlign(CENTER, CENTER);
+            text("GAME OVER", WIDTH / 2.0f, HEIGHT / 2.0f - 60);
+
+            // Final score
+            fill(255);
+            textSize(32);
+            text("Final Score: " + state.getScore(), WIDTH / 2.0f, HEIGHT / 2.0f);
+
+            // Restart instruction
+            textSize(24);
+            text("Press R to Restart", WIDTH / 2.0f, HEIGHT / 2.0f + 60);
+        }
+
+        // Same-frame sound triggers go to the mixer together (the simulation thread does its own)
+        if (simThread == null) {
+            sound.endFrame();
+        }
+
+        profiler.stop(FrameProfiler.FRAME);
+        profiler.endFrame();
+        renderStats.endFrame();
+        if (governor != null && governor.frame(frameNanos, System.nanoTime() - time)) {
+            applyQuality();
+        }
+        if (frameCount == 1) {
+            assets.mark("first frame");
+        }
+
+        if (scenario != null && scenario.endFrame(sim)) {
+            try {
+                scenario.writeReport(sim, renderStats);
+            } catch (IOException e) {
+                System.err.println("Could not write scenario report: " + e.getMessage());
+            }
+            exit();
+        }
+    }
+
+    // Hands the governor's current settings to the simulation, the renderer and the HUD
+    void applyQuality() {
+        governor.apply(renderOptions);
+        simThread.setExplosionParticles(governor.getExplosionParticles());
+        starfield.setVisibleLayers(governor.getStarLayers());
+        hudIntervalMillis = governor.getHudIntervalMillis();
+    }
+
+    // Value of a --name=value command line option, or null
+    String option(String name) {
+        if (args == null) {
+            return null;
+        }
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    // True if the --name command line flag is given
+    boolean flag(String name) {
+        if (args == null) {
+            return false;
+        }
+        for (String arg : args) {
+            if (arg.equals("--" + name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Translates the keyboard state into GameSimulation input bits
+    int readInputs() {
+        if (!keyPressed) {
+            return 0;
+        }
+        if (key == CODED) {
+            if (keyCode == UP) return GameSimulation.INPUT_THRUST;
+            if (keyCode == LEFT) return GameSimulation.INPUT_LEFT;
+            if (keyCode == RIGHT) return GameSimulation.INPUT_RIGHT;
+        } else if (key == ' ') {
+            return GameSimulation.INPUT_FIRE;
+        }
+        return 0;
+    }
+
+    public void keyPressed() {
+        // Restart game when R is pressed and game is over (the simulation thread does the restart)
+        if (simThread != null && simThread.latest().isGameOver() && (key == 'r' || key == 'R')) {
+            simThread.requestRestart();
+        }
+
+        // Toggle the frame profiler overlay
+        if (key == 'p' || key == 'P') {
+            profiler.toggleOverlay();
+            renderStats.toggleOverlay();
+            if (simThread != null) {
+                simThread.getProfiler().toggleOverlay();
+            }
+            if (profileCsv == null) {
+                profileCsv = DEFAULT_PROFILE_CSV;
+            }
+        }
+    }
+
+    public void dispose() {
+        // The simulation thread still uses the recorder and the sound triggers
+        if (simThread != null) {
+            simThread.stop();
+        }
+        if (recorder != null) {
+            try {
+                recorder.close();
+                System.out.println("Recorded " + recorder.getFrameCount() + " frames");
+            } catch (IOException e) {
+                System.err.println("Could not finish recording: " + e.getMessage());
+            }
+            recorder = null;
+        }
+        if (sound != null) {
+            sound.close();
+            sound = null;
+        }
+        if (profileCsv != null) {
+            try {
+                if (simThread != null) {
+                    FrameProfiler.writeCsv(profileCsv, profiler, simThread.getProfiler());
+                } else {
+                    FrameProfiler.writeCsv(profileCsv, profiler);
+                }
+            } catch (IOException e) {
+                System.err.println("Could not write frame profile: " + e.getMessage());
+            }
+        }
+        super.dispose();
+    }
+}
@@ -0,0 +1,193 @@
+package asteroids;
+
+import java.util.Arrays;
+
+// Dense storage for all entities that share one set of components (an archetype).
+// Every component is a group of parallel primitive arrays indexed by slot, only
+// the components in the mask are allocated. Slots 0 .. size() - 1 are in use and
+// dead entities are swap-removed by compact(), so systems always walk contiguous
+// arrays no matter how many kinds of entities the game has.
+public class Archetype {
+    // Components, combined into the archetype's mask
+    public static final int TRANSFORM = 1;   // x, y, rotation and their values of the previous step
+    public static final int VELOCITY = 2;    // vx, vy and spin (radians per second)
+    public static final int WRAP = 4;        // wraps around the world edges, margin beyond the edge
+    public static final int LIFETIME = 8;    // age, dies once it is older than maxAge
+    public static final int BOUNDED = 16;    // dies when it leaves the world, no data
+    public static final int COLLIDER = 32;   // outline index into AsteroidShapes, -1 for a point
+    public static final int RENDERABLE = 64; // sprite to draw, see Asteroid.draw and Bullet.SPRITE
+    public static final int SPLITS = 128;    // generation (0 = large), breaks up into the next one when hit
+
+    private final String name;
+    private final int mask;
+    private int count;
+    private int capacity;
+
+    boolean[] dead;
+
+    // TRANSFORM
+    float[] x;
+    float[] y;
+    float[] rotation;
+    float[] prevX;
+    float[] prevY;
+    float[] prevRotation;
+
+    // VELOCITY
+    float[] vx;
+    float[] vy;
+    float[] spin;
+
+    // WRAP
+    float[] margin;
+
+    // LIFETIME
+    float[] age;
+    float[] maxAge;
+
+    // COLLIDER
+    int[] shape;
+
+    // RENDERABLE
+    int[] sprite;
+
+    // SPLITS
+    int[] generation;
+
+    public Archetype(String name, int mask, int capacity) {
+        this.name = name;
+        this.mask = mask;
+        this.capacity = Math.max(1, capacity);
+        allocate(this.capacity);
+    }
+
+    // True if the archetype has all of the given components
+    public boolean has(int components) {
+        return (mask & components) == components;
+    }
+
+    // Adds an entity and returns its slot, the caller sets every component.
+    // Slots stay valid until the next compact() or clear().
+    public int add() {
+        if (count == capacity) {
+            capacity *= 2;
+            allocate(capacity);
+        }
+        int i = count++;
+        dead[i] = false;
+        return i;
+    }
+
+    public void kill(int i) {
+        dead[i] = true;
+    }
+
+    public boolean isDead(int i) {
+        return dead[i];
+    }
+
+    // Swap-removes the dead entities, the order of the live ones is not kept
+    public void compact() {
+        int i = 0;
+        while (i < count) {
+            if (dead[i]) {
+                // The last entity takes this slot and is checked next
+                move(--count, i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Copies every component of slot from into slot to
+    private void move(int from, int to) {
+        dead[to] = dead[from];
+        if (has(TRANSFORM)) {
+            x[to] = x[from];
+            y[to] = y[from];
+            rotation[to] = rotation[from];
+            prevX[to] = prevX[from];
+            prevY[to] = prevY[from];
+            prevRotation[to] = prevRotation[from];
+        }
+        if (has(VELOCITY)) {
+            vx[to] = vx[from];
+            vy[to] = vy[from];
+            spin[to] = spin[from];
+        }
+        if (has(WRAP)) {
+            margin[to] = margin[from];
+        }
+        if (has(LIFETIME)) {
+            age[to] = age[from];
+            maxAge[to] = maxAge[from];
+        }
+        if (has(COLLIDER)) {
+            shape[to] = shape[from];
+        }
+        if (has(RENDERABLE)) {
+            sprite[to] = sprite[from];
+        }
+        if (has(SPLITS)) {
+            generation[to] = generation[from];
+        }
+    }
+
+    // (Re)allocates the arrays of the archetype's components, keeping their contents
+    private void allocate(int n) {
+        dead = dead == null ? new boolean[n] : Arrays.copyOf(dead, n);
+        if (has(TRANSFORM)) {
+            x = grow(x, n);
+            y = grow(y, n);
+            rotation = grow(rotation, n);
+            prevX = grow(prevX, n);
+            prevY = grow(prevY, n);
+            prevRotation = grow(prevRotation, n);
+        }
+        if (has(VELOCITY)) {
+            vx = grow(vx, n);
+            vy = grow(vy, n);
+            spin = grow(spin, n);
+        }
+        if (has(WRAP)) {
+            margin = grow(margin, n);
+        }
+        if (has(LIFETIME)) {
+            age = grow(age, n);
+            maxAge = grow(maxAge, n);
+        }
+        if (has(COLLIDER)) {
+            shape = grow(shape, n);
+        }
+        if (has(RENDERABLE)) {
+            sprite = grow(sprite, n);
+        }
+        if (has(SPLITS)) {
+            generation = grow(generation, n);
+        }
+    }
+
+    private static float[] grow(float[] array, int n) {
+        return array == null ? new float[n] : Arrays.copyOf(array, n);
+    }
+
+    private static int[] grow(int[] array, int n) {
+        return array == null ? new int[n] : Arrays.copyOf(array, n);
+    }
+}
@@ -0,0 +1,61 @@
+package asteroids;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Loads assets on background threads so the first frame does not wait for
+// them; every asset becomes usable as soon as its own task has finished.
+// With timing enabled (--startup-timing) the startup milestones and the load
+// time of every asset are printed, measured from the start of the JVM.
+public class AssetLoader {
+    private static final int THREADS = 3;
+
+    private final ExecutorService pool;
+    private final boolean timing;
+    private final long jvmStartMillis;
+    private long lastMarkNanos = System.nanoTime();
+
+    public AssetLoader(boolean timing) {
+        this.timing = timing;
+        this.jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "asset-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs task in the background, name is only used for the timing output
+    public void load(String name, Runnable task) {
+        pool.execute(() -> {
+            long start = System.nanoTime();
+            task.run();
+            if (timing) {
+                log(String.format("asset %s: %.1f ms", name, (System.nanoTime() - start) / 1e6));
+            }
+        });
+    }
+
+    // No more assets will be added, the threads end once the queued loads are done
+    public void finish() {
+        pool.shutdown();
+    }
+
+    // Prints a startup milestone and the time since the previous one
+    public void mark(String milestone) {
+        if (!timing) {
+            return;
+        }
+        long now = System.nanoTime();
+        log(String.format("%s (+%.1f ms)", milestone, (now - lastMarkNanos) / 1e6));
+        lastMarkNanos = now;
+    }
+
+    private void log(String message) {
+        long sinceStart = System.currentTimeMillis() - jvmStartMillis;
+        System.out.printf("[startup %5d ms] %s%n", sinceStart, message);
+    }
+}
@@ -0,0 +1,166 @@
+package asteroids;
+
+import processing.core.PApplet;
+
+// The asteroid archetype: which components an asteroid has, how one is spawned,
+// the exact collision tests against its outline and how it is drawn. The
+// asteroids themselves are slots of an Archetype owned by GameSimulation.
+public final class Asteroid {
+    public static final int COMPONENTS = Archetype.TRANSFORM | Archetype.VELOCITY | Archetype.WRAP
+            | Archetype.COLLIDER | Archetype.RENDERABLE | Archetype.SPLITS;
+
+    // Radius of the largest asteroid type, used to size the collision grid
+    public static final float MAX_SIZE = 50;
+
+    // Fastest an asteroid can move (random speed plus fragment kick), bounds swept queries
+    public static final float MAX_SPEED = 160;
+
+    // Smallest type (generation), it does not split any further
+    public static final int SMALLEST = 2;
+
+    private Asteroid() {
+    }
+
+    public static Archetype createArchetype(int capacity) {
+        return new Archetype("asteroids", COMPONENTS, capacity);
+    }
+
+    // Adds an asteroid of the given type (0 = large, 1 = medium, 2 = small) with a
+    // random velocity, spin and outline, returns its slot
+    public static int spawn(Archetype a, Rng rng, float x, float y, int type) {
+        int i = a.add();
+        a.x[i] = x;
+        a.y[i] = y;
+        a.generation[i] = type;
+        a.margin[i] = sizeForType(type);
+
+        // Random velocity
+        float speed = rng.random(30, 80);
+        float angle = rng.random(PApplet.TWO_PI);
+        a.vx[i] = PApplet.cos(angle) * speed;
+        a.vy[i] = PApplet.sin(angle) * speed;
+
+        a.rotation[i] = rng.random(PApplet.TWO_PI);
+        a.spin[i] = rng.random(-2, 2);
+        a.prevX[i] = x;
+        a.prevY[i] = y;
+        a.prevRotation[i] = a.rotation[i];
+
+        // Pick an irregular shape, drawn and collided with the same outline
+        int shapeIndex = AsteroidShapes.randomIndex(rng, type);
+        a.shape[i] = shapeIndex;
+        a.sprite[i] = shapeIndex;
+        return i;
+    }
+
+    // Adds a fragment of a split asteroid
+    public static int spawnFragment(Archetype a, Rng rng, float x, float y, int type) {
+        int i = spawn(a, rng, x, y, type);
+
+        // Add some randomness to the velocity
+        a.vx[i] += rng.random(-50, 50);
+        a.vy[i] += rng.random(-50, 50);
+        return i;
+    }
+
+    // Size based on type
+    public static float sizeForType(int type) {
+        switch(type) {
+            case 0: return MAX_SIZE;  // Large
+            case 1: return 30;  // Medium
+            case 2: return 15;  // Small
+            default: return MAX_SIZE;
+        }
+    }
+
+    // Draws an asteroid outline at the given (interpolated) state
+    public static void draw(PApplet p, float x, float y, float rotation, int shapeIndex) {
+        p.pushMatrix();
+        p.translate(x, y);
+        p.rotate(rotation);
+
+        // Draw asteroid (prebuilt shape, colors are part of the shape)
+        p.shape(AsteroidShapes.shape(p, shapeIndex));
+
+        p.popMatrix();
+    }
+
+    // Cheaper level of detail for small asteroids: the outline is transformed here
+    // and filled without a stroke, no matrix push and no shape traversal
+    public static void drawSimple(PApplet p, float x, float y, float rotation, int shapeIndex) {
+        float[] outline = AsteroidShapes.outline(shapeIndex);
+        float cos = (float) Math.cos(rotation);
+        float sin = (float) Math.sin(rotation);
+        p.fill(AsteroidShapes.SIMPLE_COLOR);
+        p.noStroke();
+        p.beginShape();
+        for (int i = 0; i < outline.length; i += 2) {
+            p.vertex(x + outline[i] * cos - outline[i + 1] * sin, y + outline[i] * sin + outline[i + 1] * cos);
+        }
+        p.endShape(PApplet.CLOSE);
+    }
+
+    // Two-stage test: bounding circles first, the exact outline only in between
+    public static boolean collidesWith(Archetype a, int i, float px, float py) {
+        float dx = px - a.x[i];
+        float dy = py - a.y[i];
+        float distanceSq = dx * dx + dy * dy;
+        int shapeIndex = a.shape[i];
+        float outer = AsteroidShapes.outerRadius(shapeIndex);
+        if (distanceSq >= outer * outer) {
+            return false;
+        }
+        float inner = AsteroidShapes.innerRadius(shapeIndex);
+        if (distanceSq < inner * inner) {
+            return true;
+        }
+
+        // Point in the asteroid's local (unrotated) space
+        float cos = (float) Math.cos(a.rotation[i]);
+        float sin = (float) Math.sin(a.rotation[i]);
+        return Polygons.contains(AsteroidShapes.outline(shapeIndex), dx * cos + dy * sin, dy * cos - dx * sin);
+    }
+
+    // Swept test for a point that moved from (x0, y0) to (x1, y1) during the last step.
+    // Returns the time (0..1) in the step at which it first touched the outline of
+    // asteroid i, or -1 for a miss. The test runs on the motion relative to the asteroid,
+    // so the asteroid's own movement counts too; after a wrap prev equals the current
+    // position and only the point's motion is used. The rotation within one step is
+    // ignored, the outline is taken at the current rotation.
+    public static float sweepHit(Archetype a, int i, float x0, float y0, float x1, float y1) {
+        float sx = x0 - a.prevX[i];
+        float sy = y0 - a.prevY[i];
+        float ex = x1 - a.x[i];
+        float ey = y1 - a.y[i];
+        float dx = ex - sx;
+        float dy = ey - sy;
+
+        // Stage 1: the path must reach the bounding circle, |s + t * d|^2 = r^2
+        int shapeIndex = a.shape[i];
+        float outer = AsteroidShapes.outerRadius(shapeIndex);
+        float c = sx * sx + sy * sy - outer * outer;
+        if (c >= 0) {
+            float b = sx * dx + sy * dy;
+            if (b >= 0) {
+                return -1; // not approaching
+            }
+            float aa = dx * dx + dy * dy;
+            float discriminant = b * b - aa * c;
+            if (discriminant < 0 || -b - (float) Math.sqrt(discriminant) > aa) {
+                return -1; // passes by, or reaches the circle only after this step
+            }
+        }
+
+        // Stage 2: the path against the outline in local space
+        float cos = (float) Math.cos(a.rotation[i]);
+        float sin = (float) Math.sin(a.rotation[i]);
+        return Polygons.sweep(AsteroidShapes.outline(shapeIndex),
+                sx * cos + sy * sin, sy * cos - sx * sin,
+                ex * cos + ey * sin, ey * cos - ex * sin);
+    }
+
+    // Radius of the circle around the outline of asteroid i, at most its size
+    public static float boundingRadius(Archetype a, int i) {
+        return AsteroidShapes.outerRadius(a.shape[i]);
+    }
+}
@@ -0,0 +1,109 @@
+package asteroids;
+
+import processing.core.PApplet;
+import processing.core.PShape;
+
+// Flyweight library of asteroid outlines. Every asteroid type gets a fixed set
+// of irregular polygons, generated once from a constant seed. Asteroids only
+// store the index of their outline, so spawning and splitting allocate no
+// geometry. The outlines are kept as flat x/y float arrays for the simulation
+// and as prebuilt PShapes for drawing.
+public final class AsteroidShapes {
+    public static final int VARIANTS_PER_TYPE = 16;
+    public static final int TYPES = 3;
+    private static final long SEED = 0x5EED_A57E_401DL;
+
+    // Style of the prebuilt shapes
+    public static final int FILL_COLOR = 0xFF786450;
+    public static final int STROKE_COLOR = 0xFFB4A08C;
+    public static final float STROKE_WEIGHT = 2;
+    // Fill of the stroke-less level of detail, between fill and stroke so small asteroids keep their brightness
+    public static final int SIMPLE_COLOR = 0xFF96826E;
+
+    // outlines[index] = x0, y0, x1, y1, ... in local (unrotated) space
+    private static final float[][] outlines = new float[TYPES * VARIANTS_PER_TYPE][];
+
+    // Per outline: circle around all corners (cheap reject) and circle inside all edges (cheap accept)
+    private static final float[] outerRadius = new float[outlines.length];
+    private static final float[] innerRadius = new float[outlines.length];
+
+    // Prebuilt shapes for the sketch that drew them first
+    private static PApplet shapeOwner;
+    private static PShape[] shapes;
+
+    static {
+        Rng rng = new Rng(SEED);
+        for (int type = 0; type < TYPES; type++) {
+            float size = Asteroid.sizeForType(type);
+            for (int v = 0; v < VARIANTS_PER_TYPE; v++) {
+                // Irregular polygon with 6-9 corners at 0.6-1.0 x size
+                int numPoints = Math.min((int) rng.random(6, 10), 9);
+                float[] outline = new float[numPoints * 2];
+                for (int i = 0; i < numPoints; i++) {
+                    float angle = PApplet.TWO_PI * i / numPoints;
+                    float radius = size * rng.random(0.6f, 1.0f);
+                    outline[i * 2] = (float) Math.cos(angle) * radius;
+                    outline[i * 2 + 1] = (float) Math.sin(angle) * radius;
+                }
+                outlines[index(type, v)] = outline;
+                outerRadius[index(type, v)] = Polygons.outerRadius(outline);
+                innerRadius[index(type, v)] = Polygons.innerRadius(outline);
+            }
+        }
+    }
+
+    private AsteroidShapes() {
+    }
+
+    public static int index(int type, int variant) {
+        return type * VARIANTS_PER_TYPE + variant;
+    }
+
+    // Picks a random outline of the given type
+    public static int randomIndex(Rng rng, int type) {
+        return index(type, Math.min((int) rng.random(VARIANTS_PER_TYPE), VARIANTS_PER_TYPE - 1));
+    }
+
+    public static float[] outline(int index) {
+        return outlines[index];
+    }
+
+    public static float outerRadius(int index) {
+        return outerRadius[index];
+    }
+
+    public static float innerRadius(int index) {
+        return innerRadius[index];
+    }
+
+    public static int count() {
+        return outlines.length;
+    }
+
+    // Prebuilt, styled shape of an outline. Built on first use, must be called from the animation thread.
+    public static PShape shape(PApplet p, int index) {
+        if (shapeOwner != p) {
+            shapeOwner = p;
+            shapes = new PShape[outlines.length];
+        }
+        PShape shape = shapes[index];
+        if (shape == null) {
+            shape = buildShape(p, outlines[index]);
+            shapes[index] = shape;
+        }
+        return shape;
+    }
+
+    private static PShape buildShape(PApplet p, float[] outline) {
+        PShape shape = p.createShape();
+        shape.beginShape();
+        shape.fill(FILL_COLOR);
+        shape.stroke(STROKE_COLOR);
+        shape.strokeWeight(STROKE_WEIGHT);
+        for (int i = 0; i < outline.length; i += 2) {
+            shape.vertex(outline[i], outline[i + 1]);
+        }
+        shape.endShape(PApplet.CLOSE);
+        return shape;
+    }
+}
@@ -0,0 +1,116 @@
+package asteroids;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+// Pre-rasterized asteroids: every outline is drawn once per rotation step into
+// its own offscreen image (ROTATION_STEPS per outline, built on first use), and
+// drawing an asteroid becomes a single image() of the nearest step instead of
+// filling and stroking an anti-aliased polygon. The rotation snaps to
+// 360 / steps degrees.
+//
+// The rotation sets of the outlines are kept in least-recently-drawn order and
+// the oldest ones are dropped once the images exceed the byte budget, so the
+// cache stays bounded however many outlines the game uses. Animation thread only.
+public class AsteroidSprites {
+    public static final int DEFAULT_ROTATION_STEPS = 64;
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+
+    private final int rotationSteps;
+    private final long budgetBytes;
+    private long bytes = 0;
+
+    // Rotation sets by outline index, iteration order = least recently drawn first
+    private final LinkedHashMap<Integer, PGraphics[]> atlases = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Statistics
+    private long framesBuilt = 0;
+    private long evictions = 0;
+
+    public AsteroidSprites(int rotationSteps, long budgetBytes) {
+        this.rotationSteps = rotationSteps;
+        this.budgetBytes = budgetBytes;
+    }
+
+    // Draws the outline at the given (interpolated) state, like Asteroid.draw()
+    public void draw(PApplet p, float x, float y, float rotation, int shapeIndex) {
+        PGraphics[] atlas = atlases.get(shapeIndex);
+        if (atlas == null) {
+            atlas = new PGraphics[rotationSteps];
+            atlases.put(shapeIndex, atlas);
+        }
+
+        // Nearest rotation step, rotation may be negative or beyond one turn
+        int step = Math.round(rotation * (rotationSteps / PApplet.TWO_PI)) % rotationSteps;
+        if (step < 0) {
+            step += rotationSteps;
+        }
+        PGraphics sprite = atlas[step];
+        if (sprite == null) {
+            sprite = build(p, shapeIndex, step);
+            atlas[step] = sprite;
+            bytes += spriteBytes(sprite);
+            framesBuilt++;
+            evict(shapeIndex);
+        }
+        float half = sprite.width * 0.5f;
+        p.image(sprite, x - half, y - half);
+    }
+
+    // Rasterizes one rotation step of an outline, centered in a square image
+    private PGraphics build(PApplet p, int shapeIndex, int step) {
+        int side = 2 * (int) Math.ceil(AsteroidShapes.outerRadius(shapeIndex) + AsteroidShapes.STROKE_WEIGHT) + 2;
+        PGraphics sprite = p.createGraphics(side, side);
+        sprite.beginDraw();
+        sprite.clear();
+        sprite.translate(side * 0.5f, side * 0.5f);
+        sprite.rotate(step * PApplet.TWO_PI / rotationSteps);
+        sprite.shape(AsteroidShapes.shape(p, shapeIndex));
+        sprite.endDraw();
+        return sprite;
+    }
+
+    // Drops the least recently drawn rotation sets until the cache fits its budget again,
+    // the set of the outline being drawn is kept
+    private void evict(int keep) {
+        Iterator<Map.Entry<Integer, PGraphics[]>> it = atlases.entrySet().iterator();
+        while (bytes > budgetBytes && it.hasNext()) {
+            Map.Entry<Integer, PGraphics[]> entry = it.next();
+            if (entry.getKey() == keep) {
+                continue;
+            }
+            for (PGraphics sprite : entry.getValue()) {
+                if (sprite != null) {
+                    bytes -= spriteBytes(sprite);
+                    sprite.dispose();
+                }
+            }
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private static long spriteBytes(PGraphics sprite) {
+        return 4L * sprite.pixelWidth * sprite.pixelHeight;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public int getCachedOutlines() {
+        return atlases.size();
+    }
+
+    public long getFramesBuilt() {
+        return framesBuilt;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+}
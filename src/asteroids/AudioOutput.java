@@ -0,0 +1,12 @@
+package asteroids;
+
+// Where SoundManager's mixer thread sends its mixed samples (16-bit signed
+// little endian mono). write() blocks until the device has room, which is what
+// paces the mixer thread.
+public interface AudioOutput {
+    void open(float sampleRate, int blockBytes) throws Exception;
+
+    void write(byte[] data, int length);
+
+    void close();
+}
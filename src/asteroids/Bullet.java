@@ -0,0 +1,53 @@
+package asteroids;
+
+import processing.core.PApplet;
+
+// The bullet archetype: a point that flies straight until it is too old or
+// leaves the screen. The bullets themselves are slots of an Archetype owned by
+// GameSimulation; MotionSystem moves, ages and bounds them.
+public final class Bullet {
+    public static final int COMPONENTS = Archetype.TRANSFORM | Archetype.VELOCITY | Archetype.LIFETIME
+            | Archetype.BOUNDED | Archetype.COLLIDER | Archetype.RENDERABLE;
+
+    // Sprite and collider value of a bullet: a dot, not an asteroid outline
+    public static final int SPRITE = -1;
+
+    private static final float BULLET_SPEED = 400.0f;
+    private static final float MAX_LIFETIME = 1.5f; // seconds
+
+    private Bullet() {
+    }
+
+    public static Archetype createArchetype(int capacity) {
+        return new Archetype("bullets", COMPONENTS, capacity);
+    }
+
+    // Adds a bullet flying at the given angle (0 = up), returns its slot
+    public static int spawn(Archetype a, float x, float y, float angle) {
+        int i = a.add();
+        a.x[i] = x;
+        a.y[i] = y;
+        a.prevX[i] = x;
+        a.prevY[i] = y;
+        a.rotation[i] = angle;
+        a.prevRotation[i] = angle;
+
+        // Calculate velocity based on angle
+        a.vx[i] = PApplet.cos(angle - PApplet.HALF_PI) * BULLET_SPEED;
+        a.vy[i] = PApplet.sin(angle - PApplet.HALF_PI) * BULLET_SPEED;
+        a.spin[i] = 0;
+
+        a.age[i] = 0;
+        a.maxAge[i] = MAX_LIFETIME;
+        a.shape[i] = SPRITE;
+        a.sprite[i] = SPRITE;
+        return i;
+    }
+
+    // Draws a bullet at the given (interpolated) position
+    public static void draw(PApplet p, float x, float y) {
+        p.fill(255, 255, 0);
+        p.noStroke();
+        p.ellipse(x, y, 4, 4);
+    }
+}
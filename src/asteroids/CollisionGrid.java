@@ -0,0 +1,119 @@
+package asteroids;
+
+import java.util.Arrays;
+
+// Uniform grid broadphase over a wrapping (toroidal) world.
+// Items are inserted by center point once per tick, queries return the indices
+// of all items whose cell lies within reach of the query circle. Cell indices
+// wrap around the screen edges, so items parked in the off-screen wrap margin
+// still end up next to items on the opposite side of the seam.
+// The grid only narrows down candidates, the caller does the exact test.
+public class CollisionGrid {
+    private final int cols;
+    private final int rows;
+    private final float cellWidth;
+    private final float cellHeight;
+    private final float maxItemRadius;
+
+    // Counting sort buckets: items of cell c are items[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellStart;
+    private final int[] cellFill;
+    private int[] items = new int[64];
+    private int[] itemCell = new int[64];
+    private int itemCount;
+
+    // Query result buffer, reused between queries
+    private int[] result = new int[64];
+    private int resultCount;
+
+    public CollisionGrid(float worldWidth, float worldHeight, float maxItemRadius) {
+        // Cells are at least as large as the biggest item, and divide the world evenly
+        // so that neighbouring cells stay neighbours across the wrap seam
+        this.cols = Math.max(1, (int) (worldWidth / maxItemRadius));
+        this.rows = Math.max(1, (int) (worldHeight / maxItemRadius));
+        this.cellWidth = worldWidth / cols;
+        this.cellHeight = worldHeight / rows;
+        this.maxItemRadius = maxItemRadius;
+        this.cellStart = new int[cols * rows + 1];
+        this.cellFill = new int[cols * rows];
+    }
+
+    // Starts a rebuild, item indices must be 0 .. count - 1
+    public void begin(int count) {
+        if (itemCell.length < count) {
+            int capacity = Math.max(count, itemCell.length * 2);
+            itemCell = new int[capacity];
+            items = new int[capacity];
+        }
+        itemCount = count;
+        Arrays.fill(cellFill, 0);
+    }
+
+    public void insert(int index, float x, float y) {
+        int cell = cellRow(y) * cols + cellColumn(x);
+        itemCell[index] = cell;
+        cellFill[cell]++;
+    }
+
+    // Finishes a rebuild once every item has been inserted
+    public void end() {
+        int start = 0;
+        for (int c = 0; c < cellFill.length; c++) {
+            cellStart[c] = start;
+            start += cellFill[c];
+            cellFill[c] = cellStart[c];
+        }
+        cellStart[cellFill.length] = start;
+
+        for (int i = 0; i < itemCount; i++) {
+            items[cellFill[itemCell[i]]++] = i;
+        }
+    }
+
+    // Collects every item that might touch the circle at (x, y), returns the number of candidates
+    public int query(float x, float y, float radius) {
+        float reach = radius + maxItemRadius;
+        int c0 = (int) Math.floor((x - reach) / cellWidth);
+        int c1 = (int) Math.floor((x + reach) / cellWidth);
+        int r0 = (int) Math.floor((y - reach) / cellHeight);
+        int r1 = (int) Math.floor((y + reach) / cellHeight);
+
+        // Never visit the same wrapped cell twice
+        if (c1 - c0 + 1 >= cols) {
+            c0 = 0;
+            c1 = cols - 1;
+        }
+        if (r1 - r0 + 1 >= rows) {
+            r0 = 0;
+            r1 = rows - 1;
+        }
+
+        resultCount = 0;
+        for (int r = r0; r <= r1; r++) {
+            int rowOffset = Math.floorMod(r, rows) * cols;
+            for (int c = c0; c <= c1; c++) {
+                int cell = rowOffset + Math.floorMod(c, cols);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    if (resultCount == result.length) {
+                        result = Arrays.copyOf(result, result.length * 2);
+                    }
+                    result[resultCount++] = items[k];
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    // Item index of the k-th candidate of the last query
+    public int result(int k) {
+        return result[k];
+    }
+
+    private int cellColumn(float x) {
+        return Math.floorMod((int) Math.floor(x / cellWidth), cols);
+    }
+
+    private int cellRow(float y) {
+        return Math.floorMod((int) Math.floor(y / cellHeight), rows);
+    }
+}
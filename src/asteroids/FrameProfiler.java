@@ -0,0 +1,221 @@
+package asteroids;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+import processing.core.PApplet;
+
+// Per-phase frame timing. Phases are timed with System.nanoTime(), summed per
+// frame (the simulation may step several times in one frame) and recorded
+// into fixed-size log histograms once per frame, so profiling allocates
+// nothing while the game runs. The overlay shows p50/p99/max of the last
+// window of frames, the CSV dump covers the whole session. Phases that never
+// took any time (e.g. the simulation phases on the animation thread when the
+// simulation has its own thread) are left out of both.
+//
+// A profiler is used by a single thread; the overlay of another thread's
+// profiler may be drawn, its lines are replaced as a whole.
+public class FrameProfiler {
+    public static final int STARS = 0;
+    public static final int INPUT = 1;
+    public static final int SHIP = 2;
+    public static final int ASTEROIDS = 3; // update, grid and ship collision
+    public static final int PARTICLES = 4;
+    public static final int BULLETS = 5;
+    public static final int COLLISIONS = 6; // bullet hits, splits and compaction
+    public static final int RENDER = 7;
+    public static final int HUD = 8;
+    public static final int FRAME = 9; // the whole draw()
+    public static final int PHASES = 10;
+
+    private static final String[] NAMES = {
+        "stars", "input", "ship", "asteroids", "particles", "bullets", "collisions", "render", "hud", "frame"
+    };
+
+    private static final int WINDOW_FRAMES = 120; // overlay refresh, 2 s at 60 FPS
+
+    private final long[] startNanos = new long[PHASES];
+    private final long[] frameNanos = new long[PHASES];
+    private final Histogram[] window = new Histogram[PHASES];
+    private final Histogram[] total = new Histogram[PHASES];
+    private int windowFrames = 0;
+
+    private final String name;
+
+    // Overlay lines of the last completed window, rebuilt every WINDOW_FRAMES frames
+    private volatile String[] overlayLines;
+    private volatile boolean overlayVisible = false;
+
+    public FrameProfiler(String name) {
+        this.name = name;
+        for (int i = 0; i < PHASES; i++) {
+            window[i] = new Histogram();
+            total[i] = new Histogram();
+        }
+        overlayLines = new String[] {name + ": collecting..."};
+    }
+
+    public void start(int phase) {
+        startNanos[phase] = System.nanoTime();
+    }
+
+    public void stop(int phase) {
+        frameNanos[phase] += System.nanoTime() - startNanos[phase];
+    }
+
+    // Records the summed phase times of the finished frame
+    public void endFrame() {
+        for (int i = 0; i < PHASES; i++) {
+            window[i].record(frameNanos[i]);
+            total[i].record(frameNanos[i]);
+            frameNanos[i] = 0;
+        }
+        if (++windowFrames == WINDOW_FRAMES) {
+            if (overlayVisible) {
+                buildOverlay();
+            }
+            for (Histogram h : window) {
+                h.clear();
+            }
+            windowFrames = 0;
+        }
+    }
+
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    public boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    // Draws the overlay with its top left corner at (x, y), returns the y below it
+    public float drawOverlay(PApplet p, float x, float y) {
+        String[] lines = overlayLines;
+        if (!overlayVisible) {
+            return y;
+        }
+        float height = 16 + 14 * lines.length;
+        p.fill(0, 200);
+        p.noStroke();
+        p.rect(x, y, 320, height, 8);
+        p.fill(255);
+        p.textSize(12);
+        p.textAlign(PApplet.LEFT, PApplet.TOP);
+        for (int i = 0; i < lines.length; i++) {
+            p.text(lines[i], x + 10, y + 8 + 14 * i);
+        }
+        return y + height + 6;
+    }
+
+    private void buildOverlay() {
+        int used = 0;
+        for (int i = 0; i < PHASES; i++) {
+            if (window[i].max() > 0) used++;
+        }
+        String[] lines = new String[used + 1];
+        lines[0] = String.format("%-11s %8s %8s %8s", name + " (ms)", "p50", "p99", "max");
+        int line = 1;
+        for (int i = 0; i < PHASES; i++) {
+            if (window[i].max() > 0) {
+                lines[line++] = String.format("%-11s %8.3f %8.3f %8.3f", NAMES[i],
+                        window[i].percentile(0.5) / 1e6, window[i].percentile(0.99) / 1e6, window[i].max() / 1e6);
+            }
+        }
+        overlayLines = lines;
+    }
+
+    // Writes the session statistics of every used phase of the given profilers, times in microseconds
+    public static void writeCsv(String path, FrameProfiler... profilers) throws IOException {
+        try (PrintWriter out = new PrintWriter(path, "UTF-8")) {
+            out.println("profiler,phase,frames,mean_us,p50_us,p90_us,p99_us,max_us");
+            for (FrameProfiler profiler : profilers) {
+                for (int i = 0; i < PHASES; i++) {
+                    Histogram h = profiler.total[i];
+                    if (h.max() == 0) {
+                        continue;
+                    }
+                    out.printf("%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n", profiler.name, NAMES[i], h.count(), h.mean() / 1e3,
+                            h.percentile(0.5) / 1e3, h.percentile(0.9) / 1e3, h.percentile(0.99) / 1e3, h.max() / 1e3);
+                }
+            }
+        }
+    }
+
+    // Log-linear histogram of nanosecond values: every power of two is split into
+    // SUB_BUCKETS buckets, which keeps percentiles within ~6% of the real value
+    static final class Histogram {
+        private static final int SUB_BITS = 4;
+        static final int SUB_BUCKETS = 1 << SUB_BITS;
+        static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+        private final long[] counts = new long[BUCKETS];
+        private long count;
+        private long sum;
+        private long max;
+
+        void record(long nanos) {
+            counts[bucket(Math.max(0, nanos))]++;
+            count++;
+            sum += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        void clear() {
+            Arrays.fill(counts, 0);
+            count = 0;
+            sum = 0;
+            max = 0;
+        }
+
+        long count() {
+            return count;
+        }
+
+        double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        long max() {
+            return max;
+        }
+
+        // Upper bound of the bucket holding the given quantile, capped at the exact maximum
+        long percentile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += counts[b];
+                if (seen >= rank) {
+                    return Math.min(upperBound(b), max);
+                }
+            }
+            return max;
+        }
+
+        // Values below SUB_BUCKETS get a bucket each. Above, the top SUB_BITS + 1 bits
+        // select the bucket: the leading one picks the power of two, the rest the sub-bucket.
+        static int bucket(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS; // floor(log2(value)) - SUB_BITS
+            int sub = (int) (value >>> exponent) - SUB_BUCKETS;
+            return (exponent + 1) * SUB_BUCKETS + sub;
+        }
+
+        // Largest value in the bucket, the inverse of bucket()
+        static long upperBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS - 1;
+            int sub = bucket % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << exponent) - 1;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package asteroids;
+
+// Queue of the things that happened during one simulation step. The collision
+// systems only append compact records here, GameSimulation applies them after
+// the scans (fragments, particles, score, lives) and plays one explosion sound
+// for the whole batch. Records are kept in preallocated parallel arrays used as
+// a ring buffer: add() writes behind the newest record, poll() takes the oldest.
+// A full buffer doubles, so a step never drops events.
+public class GameEvents {
+    // Record types
+    public static final int ASTEROID_HIT = 0;   // a bullet hit an asteroid at (x, y), value = its generation
+    public static final int ASTEROID_SPLIT = 1; // two fragments spawn at (x, y), value = their generation
+    public static final int SHIP_DESTROYED = 2; // the ship crashed at (x, y)
+    public static final int SCORE = 3;          // value = points gained
+
+    int[] type;
+    float[] x;
+    float[] y;
+    int[] value;
+
+    private int head = 0; // slot of the oldest record
+    private int count = 0;
+
+    public GameEvents(int capacity) {
+        int size = Math.max(1, capacity);
+        type = new int[size];
+        x = new float[size];
+        y = new float[size];
+        value = new int[size];
+    }
+
+    public void add(int eventType, float eventX, float eventY, int eventValue) {
+        if (count == type.length) {
+            grow();
+        }
+        int i = (head + count) % type.length;
+        type[i] = eventType;
+        x[i] = eventX;
+        y[i] = eventY;
+        value[i] = eventValue;
+        count++;
+    }
+
+    // Removes the oldest record and returns its slot, readable until the next add()
+    public int poll() {
+        int i = head;
+        head = (head + 1) % type.length;
+        count--;
+        return i;
+    }
+
+    // Doubles the arrays, the records move to the front in queue order
+    private void grow() {
+        int capacity = type.length * 2;
+        type = unwrap(type, new int[capacity]);
+        x = unwrap(x, new float[capacity]);
+        y = unwrap(y, new float[capacity]);
+        value = unwrap(value, new int[capacity]);
+        head = 0;
+    }
+
+    private int[] unwrap(int[] from, int[] to) {
+        int first = Math.min(count, from.length - head);
+        System.arraycopy(from, head, to, 0, first);
+        System.arraycopy(from, 0, to, first, count - first);
+        return to;
+    }
+
+    private float[] unwrap(float[] from, float[] to) {
+        int first = Math.min(count, from.length - head);
+        System.arraycopy(from, head, to, 0, first);
+        System.arraycopy(from, 0, to, first, count - first);
+        return to;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int capacity() {
+        return type.length;
+    }
+}
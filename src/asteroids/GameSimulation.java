@@ -0,0 +1,496 @@
+package asteroids;
+
+import java.util.concurrent.ForkJoinPool;
+
+// The complete game logic without any Processing window: ship, asteroids,
+// bullets, particles, score and lives. Asteroids and bullets are stored as
+// archetypes (dense component arrays, see Archetype) and step() runs a fixed
+// schedule of systems over them: the generic MotionSystem and the game rules
+// below (control, respawn, crashes, bullet hits, waves). The collision systems
+// only record what happened in a GameEvents queue, eventSystem() applies the
+// records after the scans (splits, explosions, score, lives).
+// The game only advances through step(), and every random decision comes from
+// the seeded Rng, so two simulations with the same seed and the same inputs end
+// up in exactly the same state.
+// App drives it from draw() and renders its entities, but it runs just as well
+// on a headless machine (benchmarks, regression tests).
+public class GameSimulation {
+    // Input bits for step(), one bit per control
+    public static final int INPUT_THRUST = 1;
+    public static final int INPUT_LEFT = 2;
+    public static final int INPUT_RIGHT = 4;
+    public static final int INPUT_FIRE = 8;
+
+    // Sound and effect hooks, called from inside step(). onExplosion() comes once per
+    // step however many things exploded; onGameEvent() sees every record of the step's
+    // GameEvents in order (type and values as in GameEvents).
+    public interface Listener {
+        default void onFire() {}
+        default void onExplosion() {}
+        default void onThrustStart() {}
+        default void onThrustStop() {}
+        default void onGameEvent(int type, float x, float y, int value) {}
+    }
+
+    private final float width;
+    private final float height;
+    private final Rng rng;
+    private Listener listener = new Listener() {};
+    private FrameProfiler profiler; // optional phase timing, null when not profiled
+
+    // Spaceship
+    private Spaceship spaceship;
+    private boolean thrusting = false;
+
+    // Asteroids
+    private final Archetype asteroids;
+    private CollisionGrid asteroidGrid; // rebuilt every step after the asteroids moved
+    public static final int INITIAL_ASTEROIDS = 5;
+
+    // Bullets
+    private final Archetype bullets;
+    private float shootCooldown = 0;
+    private static final float SHOOT_DELAY = 0.15f; // seconds between shots
+
+    // Particles
+    private ParticleSystem particles;
+    public static final int MAX_PARTICLES = 2000;
+    public static final int NUM_EXPLOSION_PARTICLES = 50;
+    private int explosionParticles = NUM_EXPLOSION_PARTICLES; // lowered by the quality governor
+
+    // Records of the collision systems, drained by eventSystem() every step
+    private final GameEvents events = new GameEvents(64);
+
+    // Movement, wrapping and aging of every archetype
+    private final MotionSystem motion;
+
+    // Entity updates are spread over the common ForkJoinPool for large worlds
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+    private final ParallelUpdater updater = new ParallelUpdater(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    private float stepDt; // step length seen by the range tasks below
+    private final ParallelUpdater.RangeTask asteroidTask;
+    private final ParallelUpdater.RangeTask particleTask;
+    private final ParallelUpdater.RangeTask bulletTask;
+
+    // Game state
+    private int score = 0;
+    private int lives = 3;
+    private boolean playerAlive = true;
+    private boolean gameOver = false;
+    private float respawnTimer = 0;
+    private static final float RESPAWN_DELAY = 2.0f; // seconds before respawn
+
+    public GameSimulation(float width, float height, long seed) {
+        this(width, height, seed, MAX_PARTICLES);
+    }
+
+    public GameSimulation(float width, float height, long seed, int particleCapacity) {
+        this.width = width;
+        this.height = height;
+        this.rng = new Rng(seed);
+
+        spaceship = new Spaceship(rng, width, height, width / 2.0f, height / 2.0f);
+
+        asteroids = Asteroid.createArchetype(256);
+        asteroidGrid = new CollisionGrid(width, height, Asteroid.MAX_SIZE);
+        bullets = Bullet.createArchetype(64);
+        particles = new ParticleSystem(rng, particleCapacity);
+        motion = new MotionSystem(width, height);
+        spawnAsteroids(INITIAL_ASTEROIDS);
+
+        asteroidTask = (from, to) -> motion.update(asteroids, from, to, stepDt);
+        particleTask = (from, to) -> particles.integrate(from, to, stepDt);
+        bulletTask = (from, to) -> motion.update(bullets, from, to, stepDt);
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // Times the phases of step() into the given profiler, null switches timing off
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public void spawnAsteroids(int count) {
+        for (int i = 0; i < count; i++) {
+            // Spawn at random edge of screen
+            float x, y;
+            if (rng.random(1) < 0.5) {
+                x = rng.random(1) < 0.5 ? -50 : width + 50;
+                y = rng.random(height);
+            } else {
+                x = rng.random(width);
+                y = rng.random(1) < 0.5 ? -50 : height + 50;
+            }
+            spawnAsteroid(x, y, 0); // Type 0 = large
+        }
+    }
+
+    // Returns the asteroid's slot, valid until the end of the step
+    public int spawnAsteroid(float x, float y, int type) {
+        return Asteroid.spawn(asteroids, rng, x, y, type);
+    }
+
+    // Fires a bullet independent of the ship (angle 0 = up), used by benchmarks and scenarios
+    public int fireBullet(float x, float y, float angle) {
+        return Bullet.spawn(bullets, x, y, angle);
+    }
+
+    // Advances the game by one time step with the given INPUT_* bits held down
+    public void step(float dt, int inputs) {
+        stepDt = dt;
+        startPhase(FrameProfiler.SHIP);
+        respawnSystem(dt);
+        controlSystem(dt, inputs);
+        stopPhase(FrameProfiler.SHIP);
+
+        startPhase(FrameProfiler.ASTEROIDS);
+        updater.forRange(asteroids.size(), asteroidTask);
+        rebuildAsteroidGrid(); // broadphase from the new asteroid positions
+        crashSystem();
+        stopPhase(FrameProfiler.ASTEROIDS);
+
+        startPhase(FrameProfiler.BULLETS);
+        updater.forRange(bullets.size(), bulletTask);
+        stopPhase(FrameProfiler.BULLETS);
+
+        startPhase(FrameProfiler.COLLISIONS);
+        bulletHitSystem();
+        eventSystem();
+
+        // Drop dead bullets and asteroids in one compaction pass
+        bullets.compact();
+        asteroids.compact();
+        waveSystem();
+        stopPhase(FrameProfiler.COLLISIONS);
+
+        // Update particles (including this step's explosions), then remove the dead ones
+        startPhase(FrameProfiler.PARTICLES);
+        updater.forRange(particles.size(), particleTask);
+        particles.removeDead();
+        stopPhase(FrameProfiler.PARTICLES);
+    }
+
+    // Shoot cooldown, and the respawn timer while the player is dead
+    private void respawnSystem(float dt) {
+        if (shootCooldown > 0) {
+            shootCooldown -= dt;
+        }
+
+        if (!playerAlive && !gameOver) {
+            respawnTimer -= dt;
+            if (respawnTimer <= 0) {
+                if (lives > 0) {
+                    // Respawn player
+                    spaceship.reset(width / 2.0f, height / 2.0f);
+                    playerAlive = true;
+                } else {
+                    // Game over
+                    gameOver = true;
+                }
+            }
+        }
+    }
+
+    // Applies the inputs to the spaceship and moves it (only if alive)
+    private void controlSystem(float dt, int inputs) {
+        if (!playerAlive) {
+            return;
+        }
+        if (inputs != 0) {
+            if ((inputs & INPUT_THRUST) != 0) {
+                spaceship.thrust(dt);
+                setThrusting(true);
+            } else if ((inputs & INPUT_LEFT) != 0) {
+                spaceship.rotate(-1);
+            } else if ((inputs & INPUT_RIGHT) != 0) {
+                spaceship.rotate(1);
+            } else if ((inputs & INPUT_FIRE) != 0) {
+                // Shoot
+                if (shootCooldown <= 0) {
+                    spaceship.shoot(bullets);
+                    shootCooldown = SHOOT_DELAY;
+                    listener.onFire();
+                }
+            }
+        } else {
+            spaceship.stopThrust();
+            spaceship.stopRotation();
+            setThrusting(false);
+        }
+
+        spaceship.update(dt);
+    }
+
+    // Player-asteroid collision, records the crash (the ship is destroyed by eventSystem)
+    private void crashSystem() {
+        if (!playerAlive) {
+            return;
+        }
+        int candidates = asteroidGrid.query(spaceship.getX(), spaceship.getY(), spaceship.getBoundingRadius());
+        for (int k = 0; k < candidates; k++) {
+            if (!spaceship.collidesWith(asteroids, asteroidGrid.result(k))) {
+                continue;
+            }
+
+            // Player hit!
+            events.add(GameEvents.SHIP_DESTROYED, spaceship.getX(), spaceship.getY(), 0);
+            break;
+        }
+    }
+
+    // Bullet-asteroid collisions: the bullet and the asteroid die at once, so neither
+    // is hit twice; the split and the score are recorded for eventSystem. Only
+    // asteroids near the bullet are tested. Bullets that expired or left the screen
+    // in this step still get their last movement tested, dead bullets of earlier
+    // steps are already compacted away.
+    private void bulletHitSystem() {
+        for (int j = bullets.size() - 1; j >= 0; j--) {
+            int hit = findBulletHit(j);
+            if (hit < 0) {
+                continue;
+            }
+
+            // Hit! Mark both for removal, slots must stay valid until the scan is done
+            bullets.kill(j);
+            asteroids.kill(hit);
+
+            int type = asteroids.generation[hit];
+            float x = asteroids.x[hit];
+            float y = asteroids.y[hit];
+            events.add(GameEvents.ASTEROID_HIT, x, y, type);
+            if (type < Asteroid.SMALLEST) {
+                events.add(GameEvents.ASTEROID_SPLIT, x, y, type + 1);
+            }
+            events.add(GameEvents.SCORE, x, y, (3 - type) * 10); // Larger = more points
+        }
+    }
+
+    // Applies the step's records in the order they were made (which keeps the Rng
+    // sequence of the fragments and particles), then plays one explosion for the batch
+    private void eventSystem() {
+        boolean exploded = false;
+        boolean shipDestroyed = false;
+        while (!events.isEmpty()) {
+            int e = events.poll();
+            int type = events.type[e];
+            float x = events.x[e];
+            float y = events.y[e];
+            int value = events.value[e];
+            switch (type) {
+                case GameEvents.ASTEROID_HIT:
+                    exploded = true;
+                    break;
+                case GameEvents.ASTEROID_SPLIT:
+                    // Create 2 smaller asteroids, appended behind the slots of this step
+                    for (int k = 0; k < 2; k++) {
+                        Asteroid.spawnFragment(asteroids, rng, x, y, value);
+                    }
+                    break;
+                case GameEvents.SHIP_DESTROYED:
+                    playerAlive = false;
+                    lives--;
+                    respawnTimer = RESPAWN_DELAY;
+                    particles.explode(x, y, explosionParticles);
+                    exploded = true;
+                    shipDestroyed = true;
+                    break;
+                case GameEvents.SCORE:
+                    score += value;
+                    break;
+            }
+            listener.onGameEvent(type, x, y, value);
+        }
+
+        if (exploded) {
+            listener.onExplosion();
+        }
+        if (shipDestroyed) {
+            setThrusting(false);
+        }
+    }
+
+    // Spawn new asteroids if all are destroyed
+    private void waveSystem() {
+        if (asteroids.isEmpty()) {
+            spawnAsteroids(INITIAL_ASTEROIDS + 2);
+        }
+    }
+
+    private void startPhase(int phase) {
+        if (profiler != null) {
+            profiler.start(phase);
+        }
+    }
+
+    private void stopPhase(int phase) {
+        if (profiler != null) {
+            profiler.stop(phase);
+        }
+    }
+
+    // Rebuilds the broadphase grid from the current asteroid positions
+    void rebuildAsteroidGrid() {
+        int count = asteroids.size();
+        float[] x = asteroids.x;
+        float[] y = asteroids.y;
+        asteroidGrid.begin(count);
+        for (int i = 0; i < count; i++) {
+            asteroidGrid.insert(i, x[i], y[i]);
+        }
+        asteroidGrid.end();
+    }
+
+    // Slot of the live asteroid bullet j hit first during the last step, or -1 for
+    // a miss. The bullet is swept from its previous to its current position, so fast
+    // bullets cannot tunnel through small asteroids at long steps. Equal hit times go
+    // to the higher index. Only asteroids in the grid (as of the last rebuild) are considered.
+    int findBulletHit(int bullet) {
+        float x0 = bullets.prevX[bullet];
+        float y0 = bullets.prevY[bullet];
+        float x1 = bullets.x[bullet];
+        float y1 = bullets.y[bullet];
+
+        // Query around the middle of the path, widened by how far an asteroid moves in a step
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float reach = 0.5f * (float) Math.sqrt(dx * dx + dy * dy) + Asteroid.MAX_SPEED * stepDt;
+        int candidates = asteroidGrid.query((x0 + x1) * 0.5f, (y0 + y1) * 0.5f, reach);
+
+        int hitIndex = -1;
+        float hitTime = Float.MAX_VALUE;
+        for (int k = 0; k < candidates; k++) {
+            int index = asteroidGrid.result(k);
+            if (asteroids.isDead(index)) {
+                continue;
+            }
+            float t = Asteroid.sweepHit(asteroids, index, x0, y0, x1, y1);
+            if (t >= 0 && (t < hitTime || (t == hitTime && index > hitIndex))) {
+                hitIndex = index;
+                hitTime = t;
+            }
+        }
+        return hitIndex;
+    }
+
+    private void setThrusting(boolean active) {
+        if (active == thrusting) {
+            return;
+        }
+        thrusting = active;
+        if (active) {
+            listener.onThrustStart();
+        } else {
+            listener.onThrustStop();
+        }
+    }
+
+    public void restart() {
+        // Reset game state
+        score = 0;
+        lives = 3;
+        playerAlive = true;
+        gameOver = false;
+        respawnTimer = 0;
+        shootCooldown = 0;
+        setThrusting(false);
+        events.clear();
+
+        clearEntities();
+
+        // Reset spaceship
+        spaceship.reset(width / 2.0f, height / 2.0f);
+
+        // Spawn initial asteroids
+        spawnAsteroids(INITIAL_ASTEROIDS);
+    }
+
+    // Removes all asteroids, bullets and particles
+    public void clearEntities() {
+        asteroids.clear();
+        bullets.clear();
+        particles.clear();
+    }
+
+    // Hash over the complete simulation state, equal hashes mean bit-identical runs
+    public long checksum() {
+        long h = rng.getState();
+        h = mix(h, Float.floatToRawIntBits(spaceship.getX()));
+        h = mix(h, Float.floatToRawIntBits(spaceship.getY()));
+        h = mix(h, Float.floatToRawIntBits(spaceship.getRotation()));
+        for (int i = 0; i < asteroids.size(); i++) {
+            h = mix(h, Float.floatToRawIntBits(asteroids.x[i]));
+            h = mix(h, Float.floatToRawIntBits(asteroids.y[i]));
+            h = mix(h, Float.floatToRawIntBits(asteroids.rotation[i]));
+            h = mix(h, asteroids.generation[i]);
+            h = mix(h, asteroids.shape[i]);
+        }
+        for (int i = 0; i < bullets.size(); i++) {
+            h = mix(h, Float.floatToRawIntBits(bullets.x[i]));
+            h = mix(h, Float.floatToRawIntBits(bullets.y[i]));
+        }
+        h = mix(h, particles.size());
+        h = mix(h, score);
+        h = mix(h, lives);
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x100000001B3L;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    public ParallelUpdater getParallelUpdater() {
+        return updater;
+    }
+
+    public Spaceship getSpaceship() {
+        return spaceship;
+    }
+
+    public Archetype getAsteroids() {
+        return asteroids;
+    }
+
+    public Archetype getBullets() {
+        return bullets;
+    }
+
+    public ParticleSystem getParticles() {
+        return particles;
+    }
+
+    // Particles per explosion. Part of the simulated state (particles use the game's Rng),
+    // so recordings store every change.
+    public void setExplosionParticles(int explosionParticles) {
+        this.explosionParticles = explosionParticles;
+    }
+
+    public int getExplosionParticles() {
+        return explosionParticles;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public boolean isPlayerAlive() {
+        return playerAlive;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+}
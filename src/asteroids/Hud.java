@@ -0,0 +1,122 @@
+package asteroids;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+// Heads-up display (FPS, score, lives and the controls help).
+// Every panel is kept in its own small PGraphics: the controls panel is drawn
+// once, the value panels are only re-rasterized when their number changes.
+// Numbers are formatted into reused char buffers, so a frame without changes
+// only blits four images and creates no strings.
+public class Hud {
+    private final Field fps;
+    private final Field score;
+    private final Field lives;
+    private final PGraphics controls;
+    private final int controlsX;
+    private final int controlsY;
+
+    public Hud(PApplet p) {
+        fps = new Field(p, "FPS: ", 10, 10, 80, 30);
+        score = new Field(p, "Score: ", p.width - 120, 10, 110, 30);
+        lives = new Field(p, "Lives: ", p.width - 120, 50, 110, 30);
+
+        // Controls help never changes, rasterize it once
+        controlsX = 10;
+        controlsY = p.height - 90;
+        controls = p.createGraphics(200, 80);
+        controls.beginDraw();
+        controls.clear();
+        controls.fill(0, 180);
+        controls.noStroke();
+        controls.rect(0, 0, 200, 80, 8);
+        controls.fill(255);
+        controls.textSize(14);
+        controls.textAlign(PApplet.LEFT, PApplet.TOP);
+        controls.text("Controls:", 8, 5);
+        controls.text("↑ = Thrust", 8, 22);
+        controls.text("← → = Rotate", 8, 39);
+        controls.text("SPACE = Shoot", 8, 56);
+        controls.endDraw();
+    }
+
+    public void update(int fpsValue, int scoreValue, int livesValue) {
+        fps.set(fpsValue);
+        score.set(scoreValue);
+        lives.set(livesValue);
+    }
+
+    public void draw(PApplet p) {
+        fps.draw(p);
+        score.draw(p);
+        lives.draw(p);
+        p.image(controls, controlsX, controlsY);
+    }
+
+    // One panel with a fixed label and a number
+    private static class Field {
+        private final PGraphics g;
+        private final int x;
+        private final int y;
+        private final char[] text;
+        private final int labelLength;
+        private int length;
+        private int value;
+        private boolean valid = false;
+
+        Field(PApplet p, String label, int x, int y, int w, int h) {
+            this.g = p.createGraphics(w, h);
+            this.x = x;
+            this.y = y;
+            this.labelLength = label.length();
+            this.text = new char[labelLength + 11]; // room for any int
+            label.getChars(0, labelLength, text, 0);
+        }
+
+        void set(int newValue) {
+            if (valid && newValue == value) {
+                return;
+            }
+            value = newValue;
+            valid = true;
+            format(newValue);
+
+            g.beginDraw();
+            g.clear();
+            g.fill(0, 180);
+            g.noStroke();
+            g.rect(0, 0, g.width, g.height, 8);
+            g.fill(255);
+            g.textSize(18);
+            g.textAlign(PApplet.LEFT, PApplet.TOP);
+            g.text(text, 0, length, 8, 6);
+            g.endDraw();
+        }
+
+        void draw(PApplet p) {
+            p.image(g, x, y);
+        }
+
+        // Writes the decimal digits of n behind the label
+        private void format(int n) {
+            length = labelLength;
+            long v = n;
+            if (v < 0) {
+                text[length++] = '-';
+                v = -v;
+            }
+            int start = length;
+            do {
+                text[length++] = (char) ('0' + v % 10);
+                v /= 10;
+            } while (v > 0);
+
+            // Digits were written least significant first
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                char c = text[i];
+                text[i] = text[j];
+                text[j] = c;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package asteroids;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Plays back a recording written by InputRecorder (see there for the format).
+// The file is memory-mapped and decoded one frame at a time, so long sessions
+// stream without being read into memory first. A frame cut off at the end of
+// the file (the recording session was killed) ends the recording.
+public class InputPlayer {
+    private final MappedByteBuffer data;
+    private final long seed;
+    private final float fixedDt;
+
+    // The frame decoded by the last next()
+    private int steps = 0;
+    private int inputs = 0;
+    private int explosionParticles = GameSimulation.NUM_EXPLOSION_PARTICLES;
+    private long frameMicros = 0;
+    private boolean restart = false;
+
+    public InputPlayer(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (data.remaining() < InputRecorder.HEADER_BYTES || data.getInt() != InputRecorder.MAGIC) {
+            throw new IOException(path + " is not an input recording");
+        }
+        int version = data.get();
+        if (version != InputRecorder.VERSION) {
+            throw new IOException(path + " has unsupported recording version " + version);
+        }
+        seed = data.getLong();
+        fixedDt = data.getFloat();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public float getFixedDt() {
+        return fixedDt;
+    }
+
+    // Decodes the next frame, returns false at the end of the recording
+    public boolean next() {
+        if (!data.hasRemaining()) {
+            return false;
+        }
+        try {
+            int tag = data.get();
+            int frameInputs = inputs;
+            int frameSteps = steps;
+            int frameParticles = explosionParticles;
+            if ((tag & InputRecorder.INPUTS_CHANGED) != 0) {
+                frameInputs = data.get() & 0xFF;
+            }
+            if ((tag & InputRecorder.STEPS_CHANGED) != 0) {
+                frameSteps = (int) readVarint();
+            }
+            if ((tag & InputRecorder.PARTICLES_CHANGED) != 0) {
+                frameParticles = (int) readVarint();
+            }
+            long zigzag = readVarint();
+
+            // Complete, take it over
+            inputs = frameInputs;
+            steps = frameSteps;
+            explosionParticles = frameParticles;
+            restart = (tag & InputRecorder.RESTART) != 0;
+            frameMicros += (zigzag >>> 1) ^ -(zigzag & 1);
+            return true;
+        } catch (BufferUnderflowException e) {
+            // Cut-off last frame, it is dropped
+            data.position(data.limit());
+            return false;
+        }
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public int getInputs() {
+        return inputs;
+    }
+
+    public int getExplosionParticles() {
+        return explosionParticles;
+    }
+
+    public boolean isRestart() {
+        return restart;
+    }
+
+    // Recorded wall-clock length of the frame
+    public long getFrameNanos() {
+        return frameMicros * 1000;
+    }
+
+    // Runs the frame just decoded by next() on the simulation
+    public void apply(GameSimulation sim) {
+        if (restart) {
+            sim.restart();
+        }
+        sim.setExplosionParticles(explosionParticles);
+        for (int i = 0; i < steps; i++) {
+            sim.step(fixedDt, inputs);
+        }
+    }
+
+    private long readVarint() {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = data.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
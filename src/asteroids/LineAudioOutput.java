@@ -0,0 +1,30 @@
+package asteroids;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+
+// AudioOutput on the default javax.sound output line
+public class LineAudioOutput implements AudioOutput {
+    private static final int BUFFERED_BLOCKS = 4; // device buffer, about 46 ms at 512 samples
+
+    private SourceDataLine line;
+
+    public void open(float sampleRate, int blockBytes) throws Exception {
+        AudioFormat format = new AudioFormat(sampleRate, 16, 1, true, false);
+        line = AudioSystem.getSourceDataLine(format);
+        line.open(format, blockBytes * BUFFERED_BLOCKS);
+        line.start();
+    }
+
+    public void write(byte[] data, int length) {
+        line.write(data, 0, length);
+    }
+
+    public void close() {
+        if (line != null) {
+            line.stop();
+            line.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package asteroids;
+
+// The per-entity systems every archetype gets from its components: movement
+// (TRANSFORM + VELOCITY), then WRAP, LIFETIME and BOUNDED. Each system is a
+// separate tight loop over the component arrays of a slot range. Entities do
+// not affect each other here, so ranges can run in parallel.
+public class MotionSystem {
+    private final float width;
+    private final float height;
+
+    public MotionSystem(float width, float height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    // Runs all systems that apply to the archetype on the slots from (inclusive) to (exclusive)
+    public void update(Archetype a, int from, int to, float dt) {
+        if (a.has(Archetype.TRANSFORM | Archetype.VELOCITY)) {
+            move(a, from, to, dt);
+        }
+        if (a.has(Archetype.TRANSFORM | Archetype.WRAP)) {
+            wrap(a, from, to);
+        }
+        if (a.has(Archetype.LIFETIME)) {
+            age(a, from, to, dt);
+        }
+        if (a.has(Archetype.TRANSFORM | Archetype.BOUNDED)) {
+            bound(a, from, to);
+        }
+    }
+
+    private void move(Archetype a, int from, int to, float dt) {
+        float[] x = a.x;
+        float[] y = a.y;
+        float[] rotation = a.rotation;
+        float[] prevX = a.prevX;
+        float[] prevY = a.prevY;
+        float[] prevRotation = a.prevRotation;
+        float[] vx = a.vx;
+        float[] vy = a.vy;
+        float[] spin = a.spin;
+        for (int i = from; i < to; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            prevRotation[i] = rotation[i];
+
+            // Update position and rotation
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            rotation[i] += spin[i] * dt;
+        }
+    }
+
+    // Wrap around screen (no interpolation across the jump)
+    private void wrap(Archetype a, int from, int to) {
+        float[] x = a.x;
+        float[] y = a.y;
+        float[] prevX = a.prevX;
+        float[] prevY = a.prevY;
+        float[] margin = a.margin;
+        for (int i = from; i < to; i++) {
+            float m = margin[i];
+            if (x[i] > width + m) prevX[i] = x[i] = -m;
+            if (x[i] < -m) prevX[i] = x[i] = width + m;
+            if (y[i] > height + m) prevY[i] = y[i] = -m;
+            if (y[i] < -m) prevY[i] = y[i] = height + m;
+        }
+    }
+
+    private void age(Archetype a, int from, int to, float dt) {
+        float[] age = a.age;
+        float[] maxAge = a.maxAge;
+        for (int i = from; i < to; i++) {
+            age[i] += dt;
+            if (age[i] > maxAge[i]) {
+                a.kill(i);
+            }
+        }
+    }
+
+    // Entities that left the screen die instead of wrapping
+    private void bound(Archetype a, int from, int to) {
+        float[] x = a.x;
+        float[] y = a.y;
+        for (int i = from; i < to; i++) {
+            if (x[i] < 0 || x[i] > width || y[i] < 0 || y[i] > height) {
+                a.kill(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package asteroids;
+
+// Silent AudioOutput for machines without a sound device and for headless runs.
+// Samples are discarded, but write() still takes as long as playing them would,
+// so the mixer runs at the same pace as with a real device.
+public class NullAudioOutput implements AudioOutput {
+    private float bytesPerSecond;
+
+    public void open(float sampleRate, int blockBytes) {
+        bytesPerSecond = sampleRate * 2;
+    }
+
+    public void write(byte[] data, int length) {
+        try {
+            Thread.sleep((long) (length * 1000 / bytesPerSecond));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void close() {
+    }
+}
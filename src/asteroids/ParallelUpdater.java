@@ -0,0 +1,69 @@
+package asteroids;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs independent per-entity work over an index range on a ForkJoinPool.
+// Ranges smaller than the threshold run sequentially on the calling thread,
+// so normal games never pay for task creation. Tasks must only touch their
+// own entities: then the result is the same as a sequential loop, no matter
+// how the range is split.
+public class ParallelUpdater {
+    // Work for the entities from (inclusive) to (exclusive)
+    public interface RangeTask {
+        void run(int from, int to);
+    }
+
+    private static final int MIN_CHUNK = 512;
+
+    private final ForkJoinPool pool;
+    private int threshold;
+
+    public ParallelUpdater(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    public void forRange(int count, RangeTask task) {
+        if (count < threshold || pool.getParallelism() < 2) {
+            task.run(0, count);
+            return;
+        }
+        // A few chunks per worker so that uneven chunks balance out
+        int chunk = Math.max(MIN_CHUNK, count / (pool.getParallelism() * 4) + 1);
+        pool.invoke(new Chunk(task, 0, count, chunk));
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // Entity count from which updates are split across the pool
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private final RangeTask task;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        Chunk(RangeTask task, int from, int to, int chunk) {
+            this.task = task;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                task.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Chunk(task, from, mid, chunk), new Chunk(task, mid, to, chunk));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package asteroids;
+
+import java.util.Arrays;
+
+import processing.core.PApplet;
+import processing.core.PImage;
+
+// Alternative particle renderer that writes straight into the pixels of a
+// screen-sized layer instead of sending one ellipse per particle through
+// Processing's shape pipeline. Every particle is a precomputed soft dot
+// (anti-aliased disc coverage) added to the layer with saturating additive
+// blending; the layer is blitted onto the frame once, also additively.
+// Overlapping explosions therefore get brighter instead of covering each
+// other, and the cost is a few integer operations per covered pixel.
+//
+// The layer has one pixel per logical pixel, independent of pixelDensity():
+// the dots are soft anyway, and it keeps 100k particles cheap. Only the area
+// touched in the last frame is cleared.
+public class ParticleRasterizer {
+    static final int SUBPIXEL = 4; // stamp positions per pixel and axis
+    static final int SIZE_STEPS = 4; // stamp diameters per pixel
+    static final float MAX_SIZE = 12; // larger particles use the largest stamp
+    private static final int SUPERSAMPLE = 8; // coverage samples per pixel and axis while building stamps
+    private static final int MIN_VISIBLE_ALPHA = 2; // fainter particles add nothing
+    private static final int BLACK = 0xFF000000;
+
+    private final PImage layer;
+    private final int width;
+    private final int height;
+
+    // stamps[(size * SUBPIXEL + fy) * SUBPIXEL + fx]: coverage 0..256 of a side x side
+    // block, for diameter (size + 1) / SIZE_STEPS centered at fraction (fx, fy) of a pixel
+    private final int[][] stamps;
+    private final int[] stampSide;
+    private final int[] stampReach; // pixels from the center pixel to the block's edge
+
+    // Pixels written last frame, cleared before the next one
+    private int dirtyMinX;
+    private int dirtyMinY;
+    private int dirtyMaxX = -1;
+    private int dirtyMaxY = -1;
+
+    // The layer must be an RGB image of the window's size in logical pixels
+    public ParticleRasterizer(PImage layer) {
+        this.layer = layer;
+        this.width = layer.width;
+        this.height = layer.height;
+        layer.loadPixels();
+        Arrays.fill(layer.pixels, BLACK);
+        layer.updatePixels();
+
+        int sizes = (int) (MAX_SIZE * SIZE_STEPS);
+        stamps = new int[sizes * SUBPIXEL * SUBPIXEL][];
+        stampSide = new int[sizes];
+        stampReach = new int[sizes];
+        for (int s = 0; s < sizes; s++) {
+            float radius = (s + 1) / (float) SIZE_STEPS * 0.5f;
+            int reach = (int) Math.ceil(radius) + 1;
+            int side = 2 * reach + 1;
+            stampSide[s] = side;
+            stampReach[s] = reach;
+            for (int fy = 0; fy < SUBPIXEL; fy++) {
+                for (int fx = 0; fx < SUBPIXEL; fx++) {
+                    stamps[(s * SUBPIXEL + fy) * SUBPIXEL + fx] = buildStamp(radius, reach, side,
+                            (fx + 0.5f) / SUBPIXEL, (fy + 0.5f) / SUBPIXEL);
+                }
+            }
+        }
+    }
+
+    // Coverage of a disc centered at (reach + offsetX, reach + offsetY) in every pixel of the block
+    private static int[] buildStamp(float radius, int reach, int side, float offsetX, float offsetY) {
+        int[] stamp = new int[side * side];
+        float cx = reach + offsetX;
+        float cy = reach + offsetY;
+        float r2 = radius * radius;
+        for (int v = 0; v < side; v++) {
+            for (int u = 0; u < side; u++) {
+                int inside = 0;
+                for (int sy = 0; sy < SUPERSAMPLE; sy++) {
+                    float dy = v + (sy + 0.5f) / SUPERSAMPLE - cy;
+                    for (int sx = 0; sx < SUPERSAMPLE; sx++) {
+                        float dx = u + (sx + 0.5f) / SUPERSAMPLE - cx;
+                        if (dx * dx + dy * dy <= r2) {
+                            inside++;
+                        }
+                    }
+                }
+                stamp[v * side + u] = inside * 256 / (SUPERSAMPLE * SUPERSAMPLE);
+            }
+        }
+        return stamp;
+    }
+
+    // Draws count particles from arrays filled by ParticleSystem.copyTo(): one
+    // loadPixels/updatePixels on the layer and one additive blit onto p
+    public void draw(PApplet p, int count, float[] x, float[] y, float[] size, int[] color, float[] alpha,
+            RenderStats stats) {
+        layer.loadPixels();
+        clearDirty(layer.pixels);
+        int drawn = rasterize(layer.pixels, count, x, y, size, color, alpha);
+        layer.updatePixels();
+        stats.add(RenderStats.PARTICLES, drawn, 0, count - drawn);
+
+        if (drawn > 0) {
+            p.blendMode(PApplet.ADD);
+            p.image(layer, 0, 0, p.width, p.height);
+            p.blendMode(PApplet.BLEND);
+        }
+    }
+
+    // Adds the particles to pixels (width x height, opaque RGB), returns how many touched
+    // the layer; particles outside of it or fainter than MIN_VISIBLE_ALPHA are skipped
+    int rasterize(int[] pixels, int count, float[] x, float[] y, float[] size, int[] color, float[] alpha) {
+        int sizes = stampSide.length;
+        int minX = dirtyMinX;
+        int minY = dirtyMinY;
+        int maxX = dirtyMaxX;
+        int maxY = dirtyMaxY;
+        int drawn = 0;
+        for (int i = 0; i < count; i++) {
+            // Nearest stamp, its brightness corrected so that the dot keeps the particle's area
+            float diameter = size[i];
+            int s = Math.max(0, Math.min(sizes - 1, Math.round(diameter * SIZE_STEPS) - 1));
+            float stampDiameter = (s + 1) / (float) SIZE_STEPS;
+            float area = diameter < MAX_SIZE ? diameter * diameter / (stampDiameter * stampDiameter) : 1;
+            int intensity = Math.round(alpha[i] * (256f / 255f) * area); // 0..256, more for dots below one size step
+            if (intensity < MIN_VISIBLE_ALPHA) {
+                continue;
+            }
+            int reach = stampReach[s];
+            int side = stampSide[s];
+
+            // Pixel of the center and the stamp for its position inside that pixel
+            float px = x[i];
+            float py = y[i];
+            int cx = (int) Math.floor(px);
+            int cy = (int) Math.floor(py);
+            int left = cx - reach;
+            int top = cy - reach;
+            if (left + side <= 0 || top + side <= 0 || left >= width || top >= height) {
+                continue;
+            }
+            int fx = Math.min(SUBPIXEL - 1, (int) ((px - cx) * SUBPIXEL));
+            int fy = Math.min(SUBPIXEL - 1, (int) ((py - cy) * SUBPIXEL));
+            int[] stamp = stamps[(s * SUBPIXEL + fy) * SUBPIXEL + fx];
+
+            int c = color[i];
+            int red = (c >> 16) & 0xFF;
+            int green = (c >> 8) & 0xFF;
+            int blue = c & 0xFF;
+
+            // Clip the block to the layer
+            int u0 = Math.max(0, -left);
+            int v0 = Math.max(0, -top);
+            int u1 = Math.min(side, width - left);
+            int v1 = Math.min(side, height - top);
+            for (int v = v0; v < v1; v++) {
+                int row = (top + v) * width + left;
+                int stampRow = v * side;
+                for (int u = u0; u < u1; u++) {
+                    int weight = stamp[stampRow + u];
+                    if (weight == 0) {
+                        continue;
+                    }
+                    weight *= intensity; // 16.16 fixed point, the products below are rounded
+                    int dst = pixels[row + u];
+                    int r = ((dst >> 16) & 0xFF) + (red * weight + 0x8000 >> 16);
+                    int g = ((dst >> 8) & 0xFF) + (green * weight + 0x8000 >> 16);
+                    int b = (dst & 0xFF) + (blue * weight + 0x8000 >> 16);
+                    pixels[row + u] = BLACK | Math.min(255, r) << 16 | Math.min(255, g) << 8 | Math.min(255, b);
+                }
+            }
+
+            minX = Math.min(minX, left + u0);
+            minY = Math.min(minY, top + v0);
+            maxX = Math.max(maxX, left + u1 - 1);
+            maxY = Math.max(maxY, top + v1 - 1);
+            drawn++;
+        }
+        if (drawn > 0) {
+            dirtyMinX = minX;
+            dirtyMinY = minY;
+            dirtyMaxX = maxX;
+            dirtyMaxY = maxY;
+        }
+        return drawn;
+    }
+
+    // Resets the pixels written last frame to black
+    void clearDirty(int[] pixels) {
+        for (int y = dirtyMinY; y <= dirtyMaxY; y++) {
+            Arrays.fill(pixels, y * width + dirtyMinX, y * width + dirtyMaxX + 1, BLACK);
+        }
+        dirtyMinX = width;
+        dirtyMinY = height;
+        dirtyMaxX = -1;
+        dirtyMaxY = -1;
+    }
+}
@@ -0,0 +1,199 @@
+package asteroids;
+
+import processing.core.PApplet;
+
+// Explosion particles stored as parallel primitive arrays (structure of arrays).
+// Capacity is fixed up front, so spawning and removing particles never allocates:
+// dead particles are removed by moving the last live particle into their slot.
+public class ParticleSystem {
+    private final Rng rng;
+    private final int capacity;
+    private int count;
+
+    // Particle state, index i describes one particle
+    private final float[] x;
+    private final float[] y;
+    private final float[] vx;
+    private final float[] vy;
+    private final float[] lifetime;
+    private final float[] maxLifetime;
+    private final float[] size;
+    private final int[] color; // packed ARGB, alpha is applied while drawing
+
+    private static final float DAMPING = 0.98f; // per frame at REFERENCE_FPS
+    private static final float REFERENCE_FPS = 60.0f;
+
+    // Level of detail while drawing, alpha is 0..255
+    private static final float MIN_VISIBLE_ALPHA = 8; // fainter particles are not drawn
+    private static final float DOT_ALPHA = 64; // fainter particles are drawn as a dot
+    private static final float DOT_SIZE = 2.5f; // smaller particles too, this is the dot's size
+
+    // Orange, yellow and white-yellow (same palette as the old Particle class)
+    private static final int ORANGE = 0xFFFF9600;
+    private static final int YELLOW = 0xFFFFC832;
+    private static final int WHITE_YELLOW = 0xFFFFFFC8;
+
+    public ParticleSystem(Rng rng, int capacity) {
+        this.rng = rng;
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.vx = new float[capacity];
+        this.vy = new float[capacity];
+        this.lifetime = new float[capacity];
+        this.maxLifetime = new float[capacity];
+        this.size = new float[capacity];
+        this.color = new int[capacity];
+    }
+
+    // Spawns a single particle, returns false if the system is full
+    public boolean spawn(float px, float py, float angle, float speed) {
+        if (count == capacity) {
+            return false;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+
+        // Velocity based on angle and speed
+        vx[i] = PApplet.cos(angle) * speed;
+        vy[i] = PApplet.sin(angle) * speed;
+
+        maxLifetime[i] = rng.random(0.3f, 0.8f);
+        lifetime[i] = maxLifetime[i];
+        size[i] = rng.random(2, 6);
+
+        // Random color (orange to yellow to white)
+        float colorChoice = rng.random(1);
+        if (colorChoice < 0.4f) {
+            color[i] = ORANGE;
+        } else if (colorChoice < 0.7f) {
+            color[i] = YELLOW;
+        } else {
+            color[i] = WHITE_YELLOW;
+        }
+        return true;
+    }
+
+    // Spawns a burst of particles flying in random directions
+    public void explode(float px, float py, int amount) {
+        for (int j = 0; j < amount; j++) {
+            float angle = rng.random(PApplet.TWO_PI);
+            float speed = rng.random(50, 200);
+            if (!spawn(px, py, angle, speed)) {
+                break;
+            }
+        }
+    }
+
+    public void update(float deltaTime) {
+        integrate(0, count, deltaTime);
+        removeDead();
+    }
+
+    // Moves the particles from (inclusive) to (exclusive), particles are independent
+    // of each other so ranges can be integrated in parallel
+    public void integrate(int from, int to, float deltaTime) {
+        // Damping scaled so that it does not depend on the step length
+        float damping = (float) Math.pow(DAMPING, deltaTime * REFERENCE_FPS);
+
+        for (int i = from; i < to; i++) {
+            // Update position
+            x[i] += vx[i] * deltaTime;
+            y[i] += vy[i] * deltaTime;
+
+            // Apply slight gravity/deceleration
+            vx[i] *= damping;
+            vy[i] *= damping;
+
+            // Decrease lifetime
+            lifetime[i] -= deltaTime;
+        }
+    }
+
+    // Swap-removes every particle whose lifetime ran out
+    public void removeDead() {
+        int i = 0;
+        while (i < count) {
+            if (lifetime[i] <= 0) {
+                // The last particle takes this slot and is checked next
+                removeAt(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    // Copies what drawing needs into the given arrays (at least size() long),
+    // with the fade-out alpha computed from the remaining lifetime
+    public void copyTo(float[] toX, float[] toY, float[] toSize, int[] toColor, float[] toAlpha) {
+        System.arraycopy(x, 0, toX, 0, count);
+        System.arraycopy(y, 0, toY, 0, count);
+        System.arraycopy(size, 0, toSize, 0, count);
+        System.arraycopy(color, 0, toColor, 0, count);
+        for (int i = 0; i < count; i++) {
+            toAlpha[i] = PApplet.map(lifetime[i], 0, maxLifetime[i], 0, 255);
+        }
+    }
+
+    // Draws count particles from arrays filled by copyTo(). Particles off screen or
+    // almost faded out are skipped, faint or tiny ones become a square dot instead
+    // of an ellipse (all of them without ellipses).
+    public static void draw(PApplet p, int count, float[] x, float[] y, float[] size, int[] color, float[] alpha,
+            boolean ellipses, RenderStats stats) {
+        p.pushStyle();
+        p.noStroke();
+
+        float right = p.width;
+        float bottom = p.height;
+        int drawn = 0;
+        int simplified = 0;
+        int culled = 0;
+        for (int i = 0; i < count; i++) {
+            float px = x[i];
+            float py = y[i];
+            float s = size[i];
+            float a = alpha[i];
+            if (a < MIN_VISIBLE_ALPHA || px + s < 0 || px - s > right || py + s < 0 || py - s > bottom) {
+                culled++;
+                continue;
+            }
+            int c = color[i];
+            p.fill((c >> 16) & 0xFF, (c >> 8) & 0xFF, c & 0xFF, a);
+            if (!ellipses || a < DOT_ALPHA || s < DOT_SIZE) {
+                p.rect(px - DOT_SIZE * 0.5f, py - DOT_SIZE * 0.5f, DOT_SIZE, DOT_SIZE);
+                simplified++;
+            } else {
+                p.ellipse(px, py, s, s);
+                drawn++;
+            }
+        }
+        stats.add(RenderStats.PARTICLES, drawn, simplified, culled);
+
+        p.popStyle();
+    }
+
+    private void removeAt(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        lifetime[i] = lifetime[last];
+        maxLifetime[i] = maxLifetime[last];
+        size[i] = size[last];
+        color[i] = color[last];
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
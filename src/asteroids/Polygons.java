@@ -0,0 +1,123 @@
+package asteroids;
+
+// Exact tests on simple polygons stored as flat x/y arrays (x0, y0, x1, y1, ...),
+// used after a bounding-circle check has already rejected the clear misses.
+public final class Polygons {
+    private Polygons() {
+    }
+
+    // Largest distance of a corner from the origin
+    public static float outerRadius(float[] polygon) {
+        float max = 0;
+        for (int i = 0; i < polygon.length; i += 2) {
+            max = Math.max(max, polygon[i] * polygon[i] + polygon[i + 1] * polygon[i + 1]);
+        }
+        return (float) Math.sqrt(max);
+    }
+
+    // Smallest distance of an edge from the origin, a circle this size lies inside
+    // the polygon if the polygon is star-shaped around the origin
+    public static float innerRadius(float[] polygon) {
+        float min = Float.MAX_VALUE;
+        int n = polygon.length;
+        for (int i = 0, j = n - 2; i < n; j = i, i += 2) {
+            float ax = polygon[j];
+            float ay = polygon[j + 1];
+            float ex = polygon[i] - ax;
+            float ey = polygon[i + 1] - ay;
+            // Closest point of the edge to the origin
+            float t = Math.max(0, Math.min(1, -(ax * ex + ay * ey) / (ex * ex + ey * ey)));
+            float cx = ax + ex * t;
+            float cy = ay + ey * t;
+            min = Math.min(min, cx * cx + cy * cy);
+        }
+        return (float) Math.sqrt(min);
+    }
+
+    // Crossing-number point-in-polygon test
+    public static boolean contains(float[] polygon, float x, float y) {
+        boolean inside = false;
+        int n = polygon.length;
+        for (int i = 0, j = n - 2; i < n; j = i, i += 2) {
+            float xi = polygon[i];
+            float yi = polygon[i + 1];
+            float xj = polygon[j];
+            float yj = polygon[j + 1];
+            if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    // First time (0..1) at which the segment from (x0, y0) to (x1, y1) touches the
+    // polygon: 0 if it starts inside, -1 if it never does
+    public static float sweep(float[] polygon, float x0, float y0, float x1, float y1) {
+        if (contains(polygon, x0, y0)) {
+            return 0;
+        }
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        float first = 2;
+        int n = polygon.length;
+        for (int i = 0, j = n - 2; i < n; j = i, i += 2) {
+            float t = segmentHit(x0, y0, dx, dy, polygon[j], polygon[j + 1], polygon[i], polygon[i + 1]);
+            if (t >= 0 && t < first) {
+                first = t;
+            }
+        }
+        return first <= 1 ? first : -1;
+    }
+
+    // True if the polygons overlap, both given in the same space
+    public static boolean overlap(float[] a, float[] b) {
+        // Crossing edges, or one polygon completely inside the other
+        int na = a.length;
+        int nb = b.length;
+        for (int i = 0, j = na - 2; i < na; j = i, i += 2) {
+            float dx = a[i] - a[j];
+            float dy = a[i + 1] - a[j + 1];
+            for (int k = 0, l = nb - 2; k < nb; l = k, k += 2) {
+                if (crosses(a[j], a[j + 1], dx, dy, b[l], b[l + 1], b[k], b[k + 1])) {
+                    return true;
+                }
+            }
+        }
+        return contains(a, b[0], b[1]) || contains(b, a[0], a[1]);
+    }
+
+    // Same as segmentHit(...) >= 0, without the divisions
+    private static boolean crosses(float px, float py, float dx, float dy, float ax, float ay, float bx, float by) {
+        float ex = bx - ax;
+        float ey = by - ay;
+        float denominator = dx * ey - dy * ex;
+        if (denominator == 0) {
+            return false;
+        }
+        float qx = ax - px;
+        float qy = ay - py;
+        float t = qx * ey - qy * ex;
+        float u = qx * dy - qy * dx;
+        if (denominator < 0) {
+            denominator = -denominator;
+            t = -t;
+            u = -u;
+        }
+        return t >= 0 && t <= denominator && u >= 0 && u <= denominator;
+    }
+
+    // Parameter t (0..1) along p + t * d where it crosses the edge a-b, or -1
+    private static float segmentHit(float px, float py, float dx, float dy, float ax, float ay, float bx, float by) {
+        float ex = bx - ax;
+        float ey = by - ay;
+        float denominator = dx * ey - dy * ex;
+        if (denominator == 0) {
+            return -1; // parallel
+        }
+        float qx = ax - px;
+        float qy = ay - py;
+        float t = (qx * ey - qy * ex) / denominator;
+        float u = (qx * dy - qy * dx) / denominator;
+        return t >= 0 && t <= 1 && u >= 0 && u <= 1 ? t : -1;
+    }
+}
@@ -0,0 +1,129 @@
+package asteroids;
+
+// Holds the target frame rate on slow machines by stepping the quality down
+// when frames fall behind and back up once there is headroom again.
+//
+// Frames are judged per window of WINDOW_FRAMES: a window below DOWN_FPS steps
+// one level down. Stepping up needs UP_WINDOWS windows in a row at the target
+// rate whose draw work stayed under UP_WORK_SHARE of the frame budget, so a
+// level that only just holds the target is not left again right away
+// (hysteresis). The window after a change is not judged, it still contains the
+// frames before the change. Every change is printed with the knob it pulled.
+public class QualityGovernor {
+    public static final float TARGET_FPS = 60;
+    private static final float DOWN_FPS = 55;
+    private static final float UP_FPS = 58.5f;
+    private static final float UP_WORK_SHARE = 0.6f;
+    private static final int UP_WINDOWS = 3;
+    private static final int WINDOW_FRAMES = 60;
+
+    // Settings per level, from full quality (0) down; every level pulls one more knob
+    private static final int[] EXPLOSION_PARTICLES = {50, 30, 30, 30, 30, 30, 15};
+    private static final boolean[] PARTICLE_ELLIPSES = {true, true, false, false, false, false, false};
+    private static final boolean[] ASTEROID_OUTLINES = {true, true, true, false, false, false, false};
+    private static final int[] STAR_LAYERS = {3, 3, 3, 3, 2, 2, 2};
+    private static final int[] HUD_INTERVAL_MILLIS = {100, 100, 100, 100, 100, 500, 500};
+    public static final int LEVELS = EXPLOSION_PARTICLES.length;
+
+    private int level = 0;
+    private long elapsedNanos = 0;
+    private int changes = 0;
+
+    // Current window
+    private int frames = 0;
+    private long intervalNanos = 0;
+    private long workNanos = 0;
+    private boolean settling = false;
+    private int goodWindows = 0;
+
+    // Adds one frame: the time since the previous frame and how long drawing it took.
+    // Returns true if the level changed, the settings getters then return new values.
+    public boolean frame(long frameIntervalNanos, long frameWorkNanos) {
+        elapsedNanos += frameIntervalNanos;
+        intervalNanos += frameIntervalNanos;
+        workNanos += frameWorkNanos;
+        if (++frames < WINDOW_FRAMES) {
+            return false;
+        }
+
+        float fps = frames * 1e9f / Math.max(1, intervalNanos);
+        float workMillis = workNanos / 1e6f / frames;
+        frames = 0;
+        intervalNanos = 0;
+        workNanos = 0;
+        if (settling) {
+            settling = false;
+            return false;
+        }
+
+        if (fps < DOWN_FPS) {
+            goodWindows = 0;
+            return level < LEVELS - 1 && change(level + 1, fps, workMillis);
+        }
+        if (fps >= UP_FPS && workMillis < UP_WORK_SHARE * 1000 / TARGET_FPS) {
+            if (++goodWindows >= UP_WINDOWS && level > 0) {
+                goodWindows = 0;
+                return change(level - 1, fps, workMillis);
+            }
+        } else {
+            goodWindows = 0;
+        }
+        return false;
+    }
+
+    private boolean change(int newLevel, float fps, float workMillis) {
+        System.out.printf("quality %d -> %d at %.1f s (%.1f FPS, %.2f ms work per frame): %s%n",
+                level, newLevel, elapsedNanos / 1e9, fps, workMillis, describe(level, newLevel));
+        level = newLevel;
+        settling = true;
+        changes++;
+        return true;
+    }
+
+    // The knobs that differ between two levels, e.g. "explosion particles 50 -> 30"
+    static String describe(int from, int to) {
+        StringBuilder out = new StringBuilder();
+        knob(out, "explosion particles", EXPLOSION_PARTICLES[from], EXPLOSION_PARTICLES[to]);
+        knob(out, "particle ellipses", PARTICLE_ELLIPSES[from], PARTICLE_ELLIPSES[to]);
+        knob(out, "asteroid outlines", ASTEROID_OUTLINES[from], ASTEROID_OUTLINES[to]);
+        knob(out, "star layers", STAR_LAYERS[from], STAR_LAYERS[to]);
+        knob(out, "HUD refresh ms", HUD_INTERVAL_MILLIS[from], HUD_INTERVAL_MILLIS[to]);
+        return out.toString();
+    }
+
+    private static void knob(StringBuilder out, String name, Object from, Object to) {
+        if (from.equals(to)) {
+            return;
+        }
+        if (out.length() > 0) {
+            out.append(", ");
+        }
+        out.append(name).append(' ').append(from).append(" -> ").append(to);
+    }
+
+    // Copies the render settings of the current level into the options
+    public void apply(RenderOptions options) {
+        options.particleEllipses = PARTICLE_ELLIPSES[level];
+        options.asteroidOutlines = ASTEROID_OUTLINES[level];
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getChanges() {
+        return changes;
+    }
+
+    public int getExplosionParticles() {
+        return EXPLOSION_PARTICLES[level];
+    }
+
+    public int getStarLayers() {
+        return STAR_LAYERS[level];
+    }
+
+    public int getHudIntervalMillis() {
+        return HUD_INTERVAL_MILLIS[level];
+    }
+}
@@ -0,0 +1,17 @@
+package asteroids;
+
+// How RenderSnapshot draws the entities. Set up from the command line and
+// changed at runtime by the QualityGovernor. Animation thread only.
+public class RenderOptions {
+    // Pre-rasterized asteroid rotations (--sprite-asteroids), null draws the outlines as shapes
+    AsteroidSprites asteroidSprites;
+
+    // Pixel-buffer particle renderer (--pixel-particles), null draws particles as ellipses
+    ParticleRasterizer particleRasterizer;
+
+    // Stroked outlines for asteroids above the simple-detail size, false fills every asteroid plainly
+    boolean asteroidOutlines = true;
+
+    // Ellipses for clearly visible particles, false draws every particle as a dot
+    boolean particleEllipses = true;
+}
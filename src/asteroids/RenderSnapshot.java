@@ -0,0 +1,223 @@
+package asteroids;
+
+import processing.core.PApplet;
+
+// Everything App needs to draw one frame, copied out of a GameSimulation.
+// Snapshots are reused: capture() overwrites the arrays in place and only
+// grows them when the world has more entities than ever before. Once
+// published through a SnapshotBuffer a snapshot is not written again until
+// the renderer has moved on to a newer one.
+public class RenderSnapshot {
+    // Asteroids smaller than this on screen (radius in pixels) are drawn as a plain filled polygon
+    static final float SIMPLE_ASTEROID_RADIUS = 18;
+
+    // Time of the capture and how far the simulation was into its next step (0..1)
+    long timeNanos;
+    float stepAlpha;
+    float stepNanos;
+
+    // Game state
+    int score;
+    int lives;
+    boolean playerAlive;
+    boolean gameOver;
+
+    // Spaceship
+    float shipX, shipY, shipPrevX, shipPrevY;
+    float shipRotation, shipPrevRotation;
+    float shipVelocityX, shipVelocityY;
+    boolean thrusterActive;
+    float thrusterFlicker;
+
+    // Asteroids
+    int asteroidCount;
+    float[] asteroidX = new float[256];
+    float[] asteroidY = new float[256];
+    float[] asteroidPrevX = new float[256];
+    float[] asteroidPrevY = new float[256];
+    float[] asteroidRotation = new float[256];
+    float[] asteroidPrevRotation = new float[256];
+    int[] asteroidShape = new int[256];
+
+    // Bullets
+    int bulletCount;
+    float[] bulletX = new float[64];
+    float[] bulletY = new float[64];
+    float[] bulletPrevX = new float[64];
+    float[] bulletPrevY = new float[64];
+
+    // Particles, alpha already faded by lifetime
+    int particleCount;
+    float[] particleX = new float[0];
+    float[] particleY = new float[0];
+    float[] particleSize = new float[0];
+    int[] particleColor = new int[0];
+    float[] particleAlpha = new float[0];
+
+    // Copies the current state of the simulation, stepAlpha is the accumulator
+    // fraction of the next step that had already passed at timeNanos
+    public void capture(GameSimulation sim, long timeNanos, float stepAlpha, float stepSeconds) {
+        this.timeNanos = timeNanos;
+        this.stepAlpha = stepAlpha;
+        this.stepNanos = stepSeconds * 1e9f;
+
+        score = sim.getScore();
+        lives = sim.getLives();
+        playerAlive = sim.isPlayerAlive();
+        gameOver = sim.isGameOver();
+
+        Spaceship ship = sim.getSpaceship();
+        shipX = ship.getX();
+        shipY = ship.getY();
+        shipPrevX = ship.getPrevX();
+        shipPrevY = ship.getPrevY();
+        shipRotation = ship.getRotation();
+        shipPrevRotation = ship.getPrevRotation();
+        shipVelocityX = ship.getVelocityX();
+        shipVelocityY = ship.getVelocityY();
+        thrusterActive = ship.isThrusterActive();
+        thrusterFlicker = ship.getThrusterFlicker();
+
+        Archetype asteroids = sim.getAsteroids();
+        asteroidCount = asteroids.size();
+        if (asteroidCount > asteroidX.length) {
+            int capacity = Math.max(asteroidCount, asteroidX.length * 2);
+            asteroidX = new float[capacity];
+            asteroidY = new float[capacity];
+            asteroidPrevX = new float[capacity];
+            asteroidPrevY = new float[capacity];
+            asteroidRotation = new float[capacity];
+            asteroidPrevRotation = new float[capacity];
+            asteroidShape = new int[capacity];
+        }
+        System.arraycopy(asteroids.x, 0, asteroidX, 0, asteroidCount);
+        System.arraycopy(asteroids.y, 0, asteroidY, 0, asteroidCount);
+        System.arraycopy(asteroids.prevX, 0, asteroidPrevX, 0, asteroidCount);
+        System.arraycopy(asteroids.prevY, 0, asteroidPrevY, 0, asteroidCount);
+        System.arraycopy(asteroids.rotation, 0, asteroidRotation, 0, asteroidCount);
+        System.arraycopy(asteroids.prevRotation, 0, asteroidPrevRotation, 0, asteroidCount);
+        System.arraycopy(asteroids.sprite, 0, asteroidShape, 0, asteroidCount);
+
+        Archetype bullets = sim.getBullets();
+        bulletCount = bullets.size();
+        if (bulletCount > bulletX.length) {
+            int capacity = Math.max(bulletCount, bulletX.length * 2);
+            bulletX = new float[capacity];
+            bulletY = new float[capacity];
+            bulletPrevX = new float[capacity];
+            bulletPrevY = new float[capacity];
+        }
+        System.arraycopy(bullets.x, 0, bulletX, 0, bulletCount);
+        System.arraycopy(bullets.y, 0, bulletY, 0, bulletCount);
+        System.arraycopy(bullets.prevX, 0, bulletPrevX, 0, bulletCount);
+        System.arraycopy(bullets.prevY, 0, bulletPrevY, 0, bulletCount);
+
+        ParticleSystem particles = sim.getParticles();
+        particleCount = particles.size();
+        if (particleX.length < particles.capacity()) {
+            // Sized for the whole particle system once, it never holds more
+            int capacity = particles.capacity();
+            particleX = new float[capacity];
+            particleY = new float[capacity];
+            particleSize = new float[capacity];
+            particleColor = new int[capacity];
+            particleAlpha = new float[capacity];
+        }
+        particles.copyTo(particleX, particleY, particleSize, particleColor, particleAlpha);
+    }
+
+    // Interpolation factor between the previous and current step for a frame drawn
+    // at nowNanos: the captured step fraction plus the time since the capture
+    public float alphaAt(long nowNanos) {
+        return Math.min(1, stepAlpha + (nowNanos - timeNanos) / stepNanos);
+    }
+
+    // Draws all entities, alpha (0..1) blends between the previous and current simulation step.
+    // Entities outside the window are culled, small asteroids are drawn without outline;
+    // the options pick sprites, the particle rasterizer and the detail levels.
+    public void draw(PApplet p, float alpha, RenderStats stats, RenderOptions options) {
+        AsteroidSprites asteroidSprites = options.asteroidSprites;
+        ParticleRasterizer particleRasterizer = options.particleRasterizer;
+        float simpleRadius = options.asteroidOutlines ? SIMPLE_ASTEROID_RADIUS : Float.MAX_VALUE;
+
+        if (playerAlive) {
+            Spaceship.draw(p, PApplet.lerp(shipPrevX, shipX, alpha), PApplet.lerp(shipPrevY, shipY, alpha),
+                    PApplet.lerp(shipPrevRotation, shipRotation, alpha), thrusterActive, thrusterFlicker);
+        }
+
+        // Asteroids parked in the wrap margin are off screen
+        float right = p.width;
+        float bottom = p.height;
+        int drawn = 0;
+        int simplified = 0;
+        int culled = 0;
+        for (int i = asteroidCount - 1; i >= 0; i--) {
+            float x = PApplet.lerp(asteroidPrevX[i], asteroidX[i], alpha);
+            float y = PApplet.lerp(asteroidPrevY[i], asteroidY[i], alpha);
+            int shape = asteroidShape[i];
+            float radius = AsteroidShapes.outerRadius(shape) + AsteroidShapes.STROKE_WEIGHT;
+            if (x + radius < 0 || x - radius > right || y + radius < 0 || y - radius > bottom) {
+                culled++;
+                continue;
+            }
+            float rotation = PApplet.lerp(asteroidPrevRotation[i], asteroidRotation[i], alpha);
+            if (asteroidSprites != null) {
+                // A blit costs the same at any size, so every asteroid keeps its outline
+                asteroidSprites.draw(p, x, y, rotation, shape);
+                drawn++;
+            } else if (radius < simpleRadius) {
+                Asteroid.drawSimple(p, x, y, rotation, shape);
+                simplified++;
+            } else {
+                Asteroid.draw(p, x, y, rotation, shape);
+                drawn++;
+            }
+        }
+        stats.add(RenderStats.ASTEROIDS, drawn, simplified, culled);
+
+        if (particleRasterizer != null) {
+            particleRasterizer.draw(p, particleCount, particleX, particleY, particleSize, particleColor, particleAlpha, stats);
+        } else {
+            ParticleSystem.draw(p, particleCount, particleX, particleY, particleSize, particleColor, particleAlpha,
+                    options.particleEllipses, stats);
+        }
+
+        drawn = 0;
+        culled = 0;
+        for (int i = bulletCount - 1; i >= 0; i--) {
+            float x = PApplet.lerp(bulletPrevX[i], bulletX[i], alpha);
+            float y = PApplet.lerp(bulletPrevY[i], bulletY[i], alpha);
+            if (x < 0 || x > right || y < 0 || y > bottom) {
+                culled++;
+                continue;
+            }
+            Bullet.draw(p, x, y);
+            drawn++;
+        }
+        stats.add(RenderStats.BULLETS, drawn, 0, culled);
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public boolean isPlayerAlive() {
+        return playerAlive;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public float getShipVelocityX() {
+        return shipVelocityX;
+    }
+
+    public float getShipVelocityY() {
+        return shipVelocityY;
+    }
+}
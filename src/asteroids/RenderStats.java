@@ -0,0 +1,92 @@
+package asteroids;
+
+import processing.core.PApplet;
+
+// Counts what the render pass did with every entity of a frame: drawn at full
+// detail, simplified (cheaper level of detail) or culled (off screen or too
+// faint to see). The counts of the last frame are shown in an overlay next to
+// the frame profiler, the session totals go into the scenario report.
+// Used by the animation thread only.
+public class RenderStats {
+    public static final int ASTEROIDS = 0;
+    public static final int PARTICLES = 1;
+    public static final int BULLETS = 2;
+    public static final int KINDS = 3;
+    private static final String[] NAMES = {"asteroids", "particles", "bullets"};
+
+    // Current frame
+    private final int[] drawn = new int[KINDS];
+    private final int[] simplified = new int[KINDS];
+    private final int[] culled = new int[KINDS];
+
+    // Whole session
+    private final long[] totalDrawn = new long[KINDS];
+    private final long[] totalSimplified = new long[KINDS];
+    private final long[] totalCulled = new long[KINDS];
+    private long frames = 0;
+
+    private final String[] overlayLines = new String[KINDS + 1];
+    private boolean overlayVisible = false;
+
+    public RenderStats() {
+        overlayLines[0] = String.format("%-11s %8s %8s %8s", "render", "drawn", "simple", "culled");
+    }
+
+    public void add(int kind, int drawnCount, int simplifiedCount, int culledCount) {
+        drawn[kind] += drawnCount;
+        simplified[kind] += simplifiedCount;
+        culled[kind] += culledCount;
+    }
+
+    // Adds the frame to the totals and starts counting the next one
+    public void endFrame() {
+        for (int k = 0; k < KINDS; k++) {
+            totalDrawn[k] += drawn[k];
+            totalSimplified[k] += simplified[k];
+            totalCulled[k] += culled[k];
+            if (overlayVisible) {
+                overlayLines[k + 1] = String.format("%-11s %8d %8d %8d", NAMES[k], drawn[k], simplified[k], culled[k]);
+            }
+            drawn[k] = 0;
+            simplified[k] = 0;
+            culled[k] = 0;
+        }
+        frames++;
+    }
+
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+    }
+
+    // Draws the counts of the last frame with the top left corner at (x, y), returns the y below it
+    public float drawOverlay(PApplet p, float x, float y) {
+        if (!overlayVisible || overlayLines[1] == null) {
+            return y;
+        }
+        float height = 16 + 14 * overlayLines.length;
+        p.fill(0, 200);
+        p.noStroke();
+        p.rect(x, y, 320, height, 8);
+        p.fill(255);
+        p.textSize(12);
+        p.textAlign(PApplet.LEFT, PApplet.TOP);
+        for (int i = 0; i < overlayLines.length; i++) {
+            p.text(overlayLines[i], x + 10, y + 8 + 14 * i);
+        }
+        return y + height + 6;
+    }
+
+    // One line per entity kind with the mean counts per frame of the session
+    public String summary() {
+        StringBuilder out = new StringBuilder();
+        long n = Math.max(1, frames);
+        for (int k = 0; k < KINDS; k++) {
+            if (k > 0) {
+                out.append('\n');
+            }
+            out.append(String.format("render %s per frame: drawn=%.1f simplified=%.1f culled=%.1f", NAMES[k],
+                    totalDrawn[k] / (double) n, totalSimplified[k] / (double) n, totalCulled[k] / (double) n));
+        }
+        return out.toString();
+    }
+}
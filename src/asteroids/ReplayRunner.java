@@ -0,0 +1,37 @@
+package asteroids;
+
+import java.io.IOException;
+
+// Replays a recording without a window, as fast as the simulation runs:
+//
+//   java -cp ... asteroids.ReplayRunner session.rec
+//
+// Prints the simulation time against the recorded play time and the final
+// checksum; two builds that replay to the same checksum simulate identically.
+public class ReplayRunner {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: ReplayRunner <recording>");
+            System.exit(2);
+        }
+        InputPlayer player = new InputPlayer(args[0]);
+        GameSimulation sim = new GameSimulation(App.WIDTH, App.HEIGHT, player.getSeed());
+
+        long frames = 0;
+        long steps = 0;
+        long recordedNanos = 0;
+        long start = System.nanoTime();
+        while (player.next()) {
+            player.apply(sim);
+            frames++;
+            steps += player.getSteps();
+            recordedNanos += player.getFrameNanos();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("frames: %d, steps: %d%n", frames, steps);
+        System.out.printf("recorded: %.1f s, replayed in %.3f s (%.0fx real time)%n",
+                recordedNanos / 1e9, elapsed / 1e9, recordedNanos / (double) Math.max(1, elapsed));
+        System.out.printf("score: %d, lives: %d, checksum: %016x%n", sim.getScore(), sim.getLives(), sim.checksum());
+    }
+}
@@ -0,0 +1,61 @@
+package asteroids;
+
+// Small seeded random number generator (xorshift64*) for the simulation.
+// Same seed and same call sequence give the same numbers on every run,
+// which is what makes GameSimulation reproducible. The float helpers
+// mirror PApplet.random() so game code reads the same as before.
+public class Rng {
+    private long state;
+
+    public Rng(long seed) {
+        setSeed(seed);
+    }
+
+    public void setSeed(long seed) {
+        // Scramble the seed (splitmix64) so that small seeds give good sequences
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        state = z ^ (z >>> 31);
+        if (state == 0) {
+            state = 0x9E3779B97F4A7C15L; // xorshift must not start at zero
+        }
+    }
+
+    public long nextLong() {
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        return state * 0x2545F4914F6CDD1DL;
+    }
+
+    // Uniform float in [0, 1)
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    // Uniform float in [0, high)
+    public float random(float high) {
+        if (high <= 0) {
+            return 0;
+        }
+        float value;
+        do {
+            value = nextFloat() * high;
+        } while (value == high); // rounding can hit the upper bound
+        return value;
+    }
+
+    // Uniform float in [low, high)
+    public float random(float low, float high) {
+        if (low >= high) {
+            return low;
+        }
+        return random(high - low) + low;
+    }
+
+    // Internal state, changes with every number drawn
+    public long getState() {
+        return state;
+    }
+}
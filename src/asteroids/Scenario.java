@@ -0,0 +1,126 @@
+package asteroids;
+
+import processing.core.PApplet;
+
+// Scripted stress workloads for load-testing the game (App --scenario=<name>).
+// A scenario sets up the world once and may add work before every frame.
+// All scenario randomness comes from its own fixed-seed Rng, so every run of
+// a scenario produces the same workload.
+public abstract class Scenario {
+    private static final Scenario[] ALL = {
+        new Scenario("10k-asteroids", "10,000 asteroids of mixed sizes drifting across the screen") {
+            void setup(GameSimulation sim, Rng rng) {
+                sim.clearEntities();
+                for (int i = 0; i < 10_000; i++) {
+                    sim.spawnAsteroid(rng.random(sim.getWidth()), rng.random(sim.getHeight()), i % 3);
+                }
+            }
+        },
+        new Scenario("continuous-explosions", "a 500 particle explosion at a random spot every frame") {
+            int particleCapacity() {
+                return 100_000;
+            }
+
+            void frame(GameSimulation sim, Rng rng, int frame) {
+                sim.getParticles().explode(rng.random(sim.getWidth()), rng.random(sim.getHeight()), 500);
+            }
+        },
+        new Scenario("bullet-hose", "40 bullets fired from the center every frame into 300 asteroids") {
+            void setup(GameSimulation sim, Rng rng) {
+                sim.clearEntities();
+            }
+
+            void frame(GameSimulation sim, Rng rng, int frame) {
+                // Replace destroyed asteroids so there is always something to hit
+                for (int i = sim.getAsteroids().size(); i < 300; i++) {
+                    sim.spawnAsteroid(rng.random(sim.getWidth()), rng.random(sim.getHeight()), i % 3);
+                }
+                for (int i = 0; i < 40; i++) {
+                    sim.fireBullet(sim.getWidth() / 2, sim.getHeight() / 2, rng.random(PApplet.TWO_PI));
+                }
+            }
+        },
+        new Scenario("mass-split-cascade", "1,000 large asteroids, 200 random asteroids are shot every frame") {
+            void setup(GameSimulation sim, Rng rng) {
+                sim.clearEntities();
+                spawnLarge(sim, rng, 1000);
+            }
+
+            void frame(GameSimulation sim, Rng rng, int frame) {
+                // Bullets appear right on top of their targets, so every one of them splits an asteroid
+                Archetype asteroids = sim.getAsteroids();
+                for (int i = 0; i < 200 && !asteroids.isEmpty(); i++) {
+                    int target = (int) rng.random(asteroids.size());
+                    sim.fireBullet(asteroids.x[target], asteroids.y[target], rng.random(PApplet.TWO_PI));
+                }
+                // Keep the cascade going once most asteroids are gone
+                if (asteroids.size() < 500) {
+                    spawnLarge(sim, rng, 1000);
+                }
+            }
+
+            private void spawnLarge(GameSimulation sim, Rng rng, int count) {
+                for (int i = 0; i < count; i++) {
+                    sim.spawnAsteroid(rng.random(sim.getWidth()), rng.random(sim.getHeight()), 0);
+                }
+            }
+        },
+    };
+
+    private static final long SEED = 1;
+
+    private final String name;
+    private final String description;
+    private final Rng rng = new Rng(SEED);
+
+    Scenario(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    // Returns the scenario with the given name, or null
+    public static Scenario byName(String name) {
+        for (Scenario scenario : ALL) {
+            if (scenario.name.equals(name)) {
+                return scenario;
+            }
+        }
+        return null;
+    }
+
+    public static String list() {
+        StringBuilder sb = new StringBuilder();
+        for (Scenario scenario : ALL) {
+            sb.append("  ").append(scenario.name).append(": ").append(scenario.description).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    // Particle capacity the simulation has to be created with
+    int particleCapacity() {
+        return GameSimulation.MAX_PARTICLES;
+    }
+
+    public void setup(GameSimulation sim) {
+        setup(sim, rng);
+    }
+
+    // Called before the simulation steps of every frame
+    public void frame(GameSimulation sim, int frame) {
+        frame(sim, rng, frame);
+    }
+
+    void setup(GameSimulation sim, Rng rng) {
+    }
+
+    void frame(GameSimulation sim, Rng rng, int frame) {
+    }
+}
@@ -0,0 +1,101 @@
+package asteroids;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+// Runs a Scenario for a fixed number of frames and reports frame times and
+// entity counts. Every frame runs the same amount of simulation, so reports of
+// different builds (or machines) describe the same workload.
+public class ScenarioRunner {
+    public static final int DEFAULT_FRAMES = 1800; // 30 s at 60 FPS
+    public static final int STEPS_PER_FRAME = 2; // 1/60 s of simulation per frame at 120 Hz
+
+    private final Scenario scenario;
+    private final int frames;
+    private final String reportPath;
+
+    // Per-frame measurements, preallocated for the whole run
+    private final long[] frameNanos; // draw() start to end
+    private final long[] intervalNanos; // draw() start to next draw() start
+    private int frame = 0;
+    private long frameStart = 0;
+
+    private int peakAsteroids;
+    private int peakBullets;
+    private int peakParticles;
+
+    public ScenarioRunner(Scenario scenario, int frames, String reportPath) {
+        this.scenario = scenario;
+        this.frames = frames;
+        this.reportPath = reportPath;
+        this.frameNanos = new long[frames];
+        this.intervalNanos = new long[frames];
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public void setup(GameSimulation sim) {
+        scenario.setup(sim);
+    }
+
+    // Call first thing in draw(), adds the scenario's work for this frame
+    public void beginFrame(GameSimulation sim) {
+        long now = System.nanoTime();
+        if (frame > 0) {
+            intervalNanos[frame - 1] = now - frameStart;
+        }
+        frameStart = now;
+        scenario.frame(sim, frame);
+    }
+
+    // Call last thing in draw(), returns true once all frames have run
+    public boolean endFrame(GameSimulation sim) {
+        frameNanos[frame] = System.nanoTime() - frameStart;
+        peakAsteroids = Math.max(peakAsteroids, sim.getAsteroids().size());
+        peakBullets = Math.max(peakBullets, sim.getBullets().size());
+        peakParticles = Math.max(peakParticles, sim.getParticles().size());
+        frame++;
+        return frame >= frames;
+    }
+
+    // Writes the report file and echoes it to stdout
+    public void writeReport(GameSimulation sim, RenderStats renderStats) throws IOException {
+        try (PrintWriter out = new PrintWriter(reportPath, "UTF-8")) {
+            report(out, sim, renderStats);
+        }
+        PrintWriter console = new PrintWriter(System.out);
+        report(console, sim, renderStats);
+        console.flush();
+        System.out.println("Report written to " + reportPath);
+    }
+
+    private void report(PrintWriter out, GameSimulation sim, RenderStats renderStats) {
+        out.println("scenario: " + scenario.getName() + " (" + scenario.getDescription() + ")");
+        out.println("frames: " + frame);
+        out.println("frame time ms: " + percentiles(frameNanos, frame));
+        // The last frame has no successor, so there is one interval less
+        out.println("frame interval ms: " + percentiles(intervalNanos, Math.max(0, frame - 1)));
+        out.println("entities final: asteroids=" + sim.getAsteroids().size()
+                + " bullets=" + sim.getBullets().size()
+                + " particles=" + sim.getParticles().size());
+        out.println("entities peak: asteroids=" + peakAsteroids
+                + " bullets=" + peakBullets
+                + " particles=" + peakParticles);
+        out.println(renderStats.summary());
+    }
+
+    private static String percentiles(long[] nanos, int count) {
+        if (count == 0) {
+            return "n/a";
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return String.format("p50=%.3f p99=%.3f max=%.3f",
+                sorted[(count - 1) / 2] / 1e6,
+                sorted[(int) Math.ceil(count * 0.99) - 1] / 1e6,
+                sorted[count - 1] / 1e6);
+    }
+}
@@ -0,0 +1,148 @@
+package asteroids;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+// Runs a GameSimulation on its own thread in fixed steps, independent of how
+// long the animation thread needs to draw a frame. After every batch of steps
+// the state is captured into the SnapshotBuffer; the animation thread only
+// reads snapshots and hands over the keyboard state through setInputs().
+//
+// Once started, the simulation, the recorder and the sound triggers belong to
+// this thread. Restarts are requested and carried out here.
+public class SimulationThread {
+    private final GameSimulation sim;
+    private final float fixedDt;
+    private final int maxStepsPerTick;
+    private final float maxDeltaTime;
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private final FrameProfiler profiler = new FrameProfiler("simulation"); // phases of step(), per tick
+    private final SoundManager sound;
+    private InputRecorder recorder;
+
+    private volatile int inputs = 0;
+    private volatile int explosionParticles = GameSimulation.NUM_EXPLOSION_PARTICLES;
+    private final AtomicBoolean restartRequested = new AtomicBoolean(false);
+    private volatile boolean running = false;
+    private Thread thread;
+
+    public SimulationThread(GameSimulation sim, float fixedDt, int maxStepsPerTick, float maxDeltaTime,
+            SoundManager sound, InputRecorder recorder) {
+        this.sim = sim;
+        this.fixedDt = fixedDt;
+        this.maxStepsPerTick = maxStepsPerTick;
+        this.maxDeltaTime = maxDeltaTime;
+        this.sound = sound;
+        this.recorder = recorder;
+        sim.setProfiler(profiler);
+
+        // Something to draw before the first tick
+        snapshots.back().capture(sim, System.nanoTime(), 0, fixedDt);
+        snapshots.publish();
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Stops the thread and waits for it, the simulation may be used again afterwards
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    // Animation thread: the INPUT_* bits currently held down
+    public void setInputs(int inputs) {
+        this.inputs = inputs;
+    }
+
+    // Animation thread: particles per explosion from the next step on (quality governor)
+    public void setExplosionParticles(int explosionParticles) {
+        this.explosionParticles = explosionParticles;
+    }
+
+    // Animation thread: restarts the game before the next step
+    public void requestRestart() {
+        restartRequested.set(true);
+    }
+
+    // Animation thread: the latest published state
+    public RenderSnapshot latest() {
+        return snapshots.latest();
+    }
+
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+
+    private void run() {
+        long stepNanos = (long) (fixedDt * 1e9f);
+        float accumulator = 0;
+        long last = System.nanoTime();
+        long unrecordedNanos = 0;
+
+        while (running) {
+            long now = System.nanoTime();
+            long tickNanos = now - last;
+            last = now;
+            accumulator += Math.min(tickNanos / 1e9f, maxDeltaTime);
+            unrecordedNanos += tickNanos;
+
+            if (restartRequested.getAndSet(false)) {
+                sim.restart();
+                accumulator = 0;
+                if (recorder != null) {
+                    recorder.restart();
+                }
+            }
+
+            // Same fixed-step loop App used to run in draw()
+            int tickInputs = inputs;
+            int tickParticles = explosionParticles;
+            sim.setExplosionParticles(tickParticles);
+            int steps = 0;
+            while (accumulator >= fixedDt && steps < maxStepsPerTick) {
+                sim.step(fixedDt, tickInputs);
+                accumulator -= fixedDt;
+                steps++;
+            }
+            if (steps == maxStepsPerTick) {
+                // Too far behind, drop the backlog instead of spiralling
+                accumulator = Math.min(accumulator, fixedDt);
+            }
+
+            if (steps > 0) {
+                if (recorder != null) {
+                    try {
+                        recorder.frame(steps, tickInputs, tickParticles, unrecordedNanos);
+                    } catch (IOException e) {
+                        System.err.println("Recording stopped: " + e.getMessage());
+                        recorder = null;
+                    }
+                }
+                unrecordedNanos = 0;
+
+                snapshots.back().capture(sim, System.nanoTime(), accumulator / fixedDt, fixedDt);
+                snapshots.publish();
+                sound.endFrame();
+                profiler.endFrame();
+            }
+
+            // Sleep until the next step is due
+            long wait = (long) ((fixedDt - accumulator) * 1e9f);
+            LockSupport.parkNanos(Math.max(0, Math.min(wait, stepNanos)));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package asteroids;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lock-free triple buffer between one writer (the simulation thread) and one
+// reader (the animation thread). The writer fills its back snapshot and swaps
+// it into the middle slot; the reader swaps the middle slot into its front
+// snapshot when a newer one is there. Neither side ever waits for the other,
+// and a snapshot is never written while the reader can still see it.
+public class SnapshotBuffer {
+    private static final int FRESH = 4; // middle slot holds a snapshot the reader has not taken yet
+
+    private final RenderSnapshot[] snapshots = {new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot()};
+    private final AtomicInteger middle = new AtomicInteger(1); // index, plus FRESH
+    private int back = 0; // writer only
+    private int front = 2; // reader only
+    private boolean published = false; // reader only, false until the first snapshot arrived
+
+    // Writer: the snapshot to fill next
+    public RenderSnapshot back() {
+        return snapshots[back];
+    }
+
+    // Writer: makes the filled back snapshot the latest one
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & ~FRESH;
+    }
+
+    // Reader: the latest published snapshot, or null before the first publish
+    public RenderSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & ~FRESH;
+            published = true;
+        }
+        return published ? snapshots[front] : null;
+    }
+}
@@ -0,0 +1,297 @@
+package asteroids;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+// Sound effects mixed on a background thread.
+//
+// The wav files are decoded once into 16-bit PCM. The game thread only counts
+// triggers during a frame; endFrame() hands them to the mixer thread, so ten
+// explosions in one collision pass become a single (louder) voice instead of
+// ten re-triggers. The mixer plays at most VOICES sounds at once and at most
+// MAX_VOICES[effect] of each effect; beyond that the oldest voice is stolen.
+public class SoundManager {
+    public static final int FIRE = 0;
+    public static final int EXPLODE = 1;
+    public static final int THRUST = 2;
+    public static final int EFFECTS = 3;
+
+    public static final float SAMPLE_RATE = 44100;
+    static final int BLOCK_SAMPLES = 512; // mixed per write, about 12 ms
+    static final int VOICES = 12;
+    private static final int[] MAX_VOICES = {4, 6, 1}; // fire, explode, thrust
+    private static final float MASTER_GAIN = 0.6f;
+    private static final float MAX_COALESCED_GAIN = 2.0f;
+
+    // Decoded effects, set by load() (from any thread) and picked up by the mixer when ready
+    private final AtomicReferenceArray<short[]> samples = new AtomicReferenceArray<>(EFFECTS);
+    // start() runs on a loader thread and may still be opening the device when
+    // close() comes from the animation thread; both hold the lock while they
+    // change the state, and a start() that finishes after close() shuts down again
+    private volatile AudioOutput output;
+    private Thread mixerThread;
+    private boolean closed = false;
+    private volatile boolean running = false;
+
+    // Game thread: triggers of the current frame and the wanted loop state
+    private final int[] frameTriggers = new int[EFFECTS];
+    private final boolean[] looping = new boolean[EFFECTS];
+
+    // Handed over to the mixer thread by endFrame()
+    private final AtomicIntegerArray pendingTriggers = new AtomicIntegerArray(EFFECTS);
+    private final AtomicIntegerArray loopWanted = new AtomicIntegerArray(EFFECTS);
+
+    // Mixer thread: the voice pool, -1 marks a free voice
+    private final int[] voiceEffect = new int[VOICES];
+    private final int[] voicePosition = new int[VOICES];
+    private final float[] voiceGain = new float[VOICES];
+    private final boolean[] voiceLoop = new boolean[VOICES];
+    private final long[] voiceStart = new long[VOICES]; // block the voice started in, for stealing
+    private final float[] mix = new float[BLOCK_SAMPLES];
+    private final byte[] block = new byte[BLOCK_SAMPLES * 2];
+    private long blockCount = 0;
+
+    // Statistics, written by the mixer thread
+    private volatile int activeVoices = 0;
+    private volatile long startedVoices = 0;
+    private volatile long stolenVoices = 0;
+
+    public SoundManager(AudioOutput output) {
+        this.output = output;
+        Arrays.fill(voiceEffect, -1);
+    }
+
+    // Decodes a wav file (16-bit mono 44.1 kHz PCM) for the given effect. May run on
+    // any thread, also after start(); the effect is silent until it has been loaded.
+    public void load(int effect, String path) {
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(new File(path))) {
+            AudioFormat source = in.getFormat();
+            AudioFormat pcm = new AudioFormat(source.getSampleRate(), 16, 1, true, false);
+            try (AudioInputStream converted = AudioSystem.getAudioInputStream(pcm, in)) {
+                byte[] bytes = converted.readAllBytes();
+                short[] data = new short[bytes.length / 2];
+                for (int i = 0; i < data.length; i++) {
+                    data[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+                }
+                samples.set(effect, data);
+            }
+        } catch (Exception e) {
+            System.err.println("Could not load sound " + path + ": " + e.getMessage());
+        }
+    }
+
+    // Opens the output and starts the mixer thread, falls back to silence without a device.
+    // Does nothing once close() has been called.
+    public void start() {
+        synchronized (this) {
+            if (closed || mixerThread != null) {
+                return;
+            }
+        }
+        AudioOutput opened = output;
+        try {
+            opened.open(SAMPLE_RATE, block.length);
+        } catch (Exception e) {
+            System.err.println("No audio output, sound is off: " + e.getMessage());
+            NullAudioOutput silent = new NullAudioOutput();
+            silent.open(SAMPLE_RATE, block.length);
+            opened = silent;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                // Closed while the device was opening
+                opened.close();
+                return;
+            }
+            output = opened;
+            running = true;
+            mixerThread = new Thread(this::run, "sound-mixer");
+            mixerThread.setDaemon(true);
+            mixerThread.setPriority(Thread.MAX_PRIORITY);
+            mixerThread.start();
+        }
+    }
+
+    // Stops the mixer and closes the output, a start() still in progress closes its own
+    public void close() {
+        Thread mixer;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = false;
+            mixer = mixerThread;
+            mixerThread = null;
+        }
+        if (mixer == null) {
+            return; // not started, nothing is open
+        }
+        try {
+            mixer.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        output.close();
+    }
+
+    // Game thread: plays the effect once (at the end of the frame)
+    public void play(int effect) {
+        frameTriggers[effect]++;
+    }
+
+    // Game thread: plays the effect in a loop until stop()
+    public void loop(int effect) {
+        looping[effect] = true;
+    }
+
+    public void stop(int effect) {
+        looping[effect] = false;
+    }
+
+    // Game thread: hands this frame's triggers to the mixer, call once per frame
+    public void endFrame() {
+        for (int e = 0; e < EFFECTS; e++) {
+            if (frameTriggers[e] > 0) {
+                pendingTriggers.addAndGet(e, frameTriggers[e]);
+                frameTriggers[e] = 0;
+            }
+            loopWanted.set(e, looping[e] ? 1 : 0);
+        }
+    }
+
+    public int getActiveVoices() {
+        return activeVoices;
+    }
+
+    public long getStartedVoices() {
+        return startedVoices;
+    }
+
+    public long getStolenVoices() {
+        return stolenVoices;
+    }
+
+    private void run() {
+        while (running) {
+            mixBlock();
+            output.write(block, block.length);
+        }
+    }
+
+    // Mixer thread: applies pending triggers and mixes the next block into `block`
+    void mixBlock() {
+        for (int e = 0; e < EFFECTS; e++) {
+            if (samples.get(e) == null) {
+                pendingTriggers.set(e, 0);
+                continue;
+            }
+            int triggers = pendingTriggers.getAndSet(e, 0);
+            if (triggers > 0) {
+                // Triggers of one frame share a voice, a bit louder the more there were
+                startVoice(e, Math.min(MAX_COALESCED_GAIN, 1 + 0.25f * (triggers - 1)), false);
+            }
+            boolean wanted = loopWanted.get(e) == 1;
+            int loopVoice = findLoopVoice(e);
+            if (wanted && loopVoice < 0) {
+                startVoice(e, 1, true);
+            } else if (!wanted && loopVoice >= 0) {
+                voiceEffect[loopVoice] = -1;
+            }
+        }
+
+        Arrays.fill(mix, 0);
+        int active = 0;
+        for (int v = 0; v < VOICES; v++) {
+            int effect = voiceEffect[v];
+            if (effect < 0) {
+                continue;
+            }
+            short[] data = samples.get(effect);
+            int position = voicePosition[v];
+            float gain = voiceGain[v] * MASTER_GAIN;
+            for (int i = 0; i < BLOCK_SAMPLES; i++) {
+                if (position == data.length) {
+                    if (!voiceLoop[v]) {
+                        break;
+                    }
+                    position = 0;
+                }
+                mix[i] += data[position++] * gain;
+            }
+            voicePosition[v] = position;
+            if (position == data.length && !voiceLoop[v]) {
+                voiceEffect[v] = -1;
+            } else {
+                active++;
+            }
+        }
+        activeVoices = active;
+
+        for (int i = 0; i < BLOCK_SAMPLES; i++) {
+            int sample = (int) Math.max(-32768, Math.min(32767, mix[i]));
+            block[2 * i] = (byte) sample;
+            block[2 * i + 1] = (byte) (sample >> 8);
+        }
+        blockCount++;
+    }
+
+    private void startVoice(int effect, float gain, boolean loop) {
+        // Per-effect cap: replace the oldest voice of the same effect
+        int count = 0;
+        int oldestSame = -1;
+        int free = -1;
+        int oldestOneShot = -1;
+        for (int v = 0; v < VOICES; v++) {
+            int e = voiceEffect[v];
+            if (e < 0) {
+                if (free < 0) free = v;
+            } else {
+                if (e == effect && !voiceLoop[v]) {
+                    count++;
+                    if (oldestSame < 0 || voiceStart[v] < voiceStart[oldestSame]) oldestSame = v;
+                }
+                if (!voiceLoop[v] && (oldestOneShot < 0 || voiceStart[v] < voiceStart[oldestOneShot])) {
+                    oldestOneShot = v;
+                }
+            }
+        }
+
+        int voice;
+        if (!loop && count >= MAX_VOICES[effect]) {
+            voice = oldestSame;
+        } else if (free >= 0) {
+            voice = free;
+        } else {
+            voice = oldestOneShot; // pool full, steal the oldest one-shot sound
+        }
+        if (voice < 0) {
+            return;
+        }
+        if (voiceEffect[voice] >= 0) {
+            stolenVoices++;
+        }
+        voiceEffect[voice] = effect;
+        voicePosition[voice] = 0;
+        voiceGain[voice] = gain;
+        voiceLoop[voice] = loop;
+        voiceStart[voice] = blockCount;
+        startedVoices++;
+    }
+
+    private int findLoopVoice(int effect) {
+        for (int v = 0; v < VOICES; v++) {
+            if (voiceEffect[v] == effect && voiceLoop[v]) {
+                return v;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,269 @@
+package asteroids;
+
+import processing.core.PApplet;
+import processing.core.PVector;
+
+public class Spaceship {
+    private Rng rng;
+    private float worldWidth;
+    private float worldHeight;
+    // Position and velocity as plain floats, updated in place
+    private float x;
+    private float y;
+    private float vx;
+    private float vy;
+    private float rotation; // Rotation in Radians
+    private float prevX; // state of the previous step, for render interpolation
+    private float prevY;
+    private float prevRotation;
+    private float rotationSpeed;
+
+    private final float MAX_SPEED = 300.0f;
+    private final float ACCELERATION = 400.0f;
+    private final float ROTATION_SPEED = 3.0f;
+    private final float FRICTION = 0.98f; // per frame at REFERENCE_FPS
+    private static final float REFERENCE_FPS = 60.0f;
+
+    private static final float SIZE = 40.0f;
+
+    // Hull outline in local space, the corners draw() uses (nose, left wing, center back, right wing)
+    private static final float[] HULL = {
+        0, -SIZE * 0.5f, -SIZE * 0.3f, SIZE * 0.4f, 0, SIZE * 0.2f, SIZE * 0.3f, SIZE * 0.4f
+    };
+    private static final float HULL_RADIUS = Polygons.outerRadius(HULL);
+    private final float[] hullScratch = new float[HULL.length]; // hull in an asteroid's local space
+
+    // Thruster effect
+    private boolean thrusterActive = false;
+    private float thrusterFlicker = 0;
+
+    public Spaceship(Rng rng, float worldWidth, float worldHeight, float x, float y) {
+        this.rng = rng;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        reset(x, y);
+    }
+
+    // Puts the ship back to a standstill at (x, y), used on respawn
+    public void reset(float x, float y) {
+        this.x = x;
+        this.y = y;
+        prevX = x;
+        prevY = y;
+        vx = 0;
+        vy = 0;
+        rotation = 0;
+        prevRotation = 0;
+        rotationSpeed = 0;
+        thrusterActive = false;
+        thrusterFlicker = 0;
+    }
+
+    public void update(float deltaTime) {
+        prevX = x;
+        prevY = y;
+        prevRotation = rotation;
+
+        // Apply friction, scaled so that it does not depend on the step length
+        float friction = (float) Math.pow(FRICTION, deltaTime * REFERENCE_FPS);
+        vx *= friction;
+        vy *= friction;
+
+        // Update position
+        x += vx * deltaTime;
+        y += vy * deltaTime;
+
+        // Update rotation
+        rotation += rotationSpeed * deltaTime;
+
+        // Wrap around screen edges (no interpolation across the jump)
+        if (x > worldWidth + SIZE) prevX = x = -SIZE;
+        if (x < -SIZE) prevX = x = worldWidth + SIZE;
+        if (y > worldHeight + SIZE) prevY = y = -SIZE;
+        if (y < -SIZE) prevY = y = worldHeight + SIZE;
+
+        // Update thruster flicker
+        if (thrusterActive) {
+            thrusterFlicker = rng.random(0.5f, 1.0f);
+        }
+    }
+
+    public void thrust(float deltaTime) {
+        thrusterActive = true;
+
+        // Apply acceleration in the thrust direction based on rotation
+        float acceleration = ACCELERATION * deltaTime;
+        vx += PApplet.cos(rotation - PApplet.HALF_PI) * acceleration;
+        vy += PApplet.sin(rotation - PApplet.HALF_PI) * acceleration;
+
+        // Limit speed
+        float speedSq = vx * vx + vy * vy;
+        if (speedSq > MAX_SPEED * MAX_SPEED) {
+            float scale = MAX_SPEED / (float) Math.sqrt(speedSq);
+            vx *= scale;
+            vy *= scale;
+        }
+    }
+
+    public void rotate(float direction) {
+        rotationSpeed = direction * ROTATION_SPEED;
+    }
+
+    public void stopRotation() {
+        rotationSpeed = 0;
+    }
+
+    public void stopThrust() {
+        thrusterActive = false;
+    }
+
+    // Draws a ship at the given (interpolated) state, reads nothing from the simulation
+    public static void draw(PApplet p, float x, float y, float rotation, boolean thrusterActive, float thrusterFlicker) {
+        p.pushMatrix();
+        p.translate(x, y);
+        p.rotate(rotation);
+
+        // Draw thruster flame
+        if (thrusterActive) {
+            p.fill(255, 150, 0, 200 * thrusterFlicker);
+            p.noStroke();
+            p.beginShape();
+            p.vertex(-8, SIZE * 0.4f);
+            p.vertex(0, SIZE * 0.4f + 15 * thrusterFlicker);
+            p.vertex(8, SIZE * 0.4f);
+            p.endShape(PApplet.CLOSE);
+        }
+
+        // Draw spaceship body (triangular ship)
+        p.fill(200, 200, 220);
+        p.stroke(100, 100, 150);
+        p.strokeWeight(2);
+        p.beginShape();
+        p.vertex(0, -SIZE * 0.5f);           // Nose
+        p.vertex(-SIZE * 0.3f, SIZE * 0.4f);  // Left wing
+        p.vertex(0, SIZE * 0.2f);             // Center back
+        p.vertex(SIZE * 0.3f, SIZE * 0.4f);   // Right wing
+        p.endShape(PApplet.CLOSE);
+
+        // Draw cockpit
+        p.fill(100, 150, 200, 180);
+        p.ellipse(0, -SIZE * 0.15f, SIZE * 0.25f, SIZE * 0.35f);
+
+        // Draw wing details
+        p.stroke(150, 150, 180);
+        p.strokeWeight(1);
+        p.line(-SIZE * 0.2f, SIZE * 0.1f, -SIZE * 0.25f, SIZE * 0.35f);
+        p.line(SIZE * 0.2f, SIZE * 0.1f, SIZE * 0.25f, SIZE * 0.35f);
+
+        p.popMatrix();
+    }
+
+    // New vector with the current position, getX()/getY() do not allocate
+    public PVector getPosition() {
+        return new PVector(x, y);
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getPrevX() {
+        return prevX;
+    }
+
+    public float getPrevY() {
+        return prevY;
+    }
+
+    public float getPrevRotation() {
+        return prevRotation;
+    }
+
+    public boolean isThrusterActive() {
+        return thrusterActive;
+    }
+
+    public float getThrusterFlicker() {
+        return thrusterFlicker;
+    }
+
+    public float getVelocityX() {
+        return vx;
+    }
+
+    public float getVelocityY() {
+        return vy;
+    }
+
+    public float getRotation() {
+        return rotation;
+    }
+
+    // Fires a bullet from the ship's nose position, returns its slot in bullets
+    public int shoot(Archetype bullets) {
+        float noseX = x + PApplet.cos(rotation - PApplet.HALF_PI) * SIZE * 0.5f;
+        float noseY = y + PApplet.sin(rotation - PApplet.HALF_PI) * SIZE * 0.5f;
+
+        return Bullet.spawn(bullets, noseX, noseY, rotation);
+    }
+
+    public boolean collidesWith(PVector point, float radius) {
+        return collidesWith(point.x, point.y, radius);
+    }
+
+    public boolean collidesWith(float px, float py, float radius) {
+        float dx = px - x;
+        float dy = py - y;
+        float reach = getCollisionRadius() + radius;
+        return dx * dx + dy * dy < reach * reach;
+    }
+
+    public float getCollisionRadius() {
+        return SIZE * 0.3f;
+    }
+
+    // Radius of the circle around the hull
+    public float getBoundingRadius() {
+        return HULL_RADIUS;
+    }
+
+    // Two-stage test: bounding circles first, then the hull against the asteroid's outline
+    public boolean collidesWith(Archetype asteroids, int asteroid) {
+        float dx = asteroids.x[asteroid] - x;
+        float dy = asteroids.y[asteroid] - y;
+        int shapeIndex = asteroids.shape[asteroid];
+        float reach = HULL_RADIUS + AsteroidShapes.outerRadius(shapeIndex);
+        if (dx * dx + dy * dy >= reach * reach) {
+            return false;
+        }
+
+        // Hull corners relative to the asteroid, a corner inside its inner circle is a sure hit
+        float shipCos = (float) Math.cos(rotation);
+        float shipSin = (float) Math.sin(rotation);
+        float inner = AsteroidShapes.innerRadius(shapeIndex);
+        for (int i = 0; i < HULL.length; i += 2) {
+            float wx = HULL[i] * shipCos - HULL[i + 1] * shipSin - dx;
+            float wy = HULL[i] * shipSin + HULL[i + 1] * shipCos - dy;
+            if (wx * wx + wy * wy < inner * inner) {
+                return true;
+            }
+            hullScratch[i] = wx;
+            hullScratch[i + 1] = wy;
+        }
+
+        // Exact test in the asteroid's local (unrotated) space
+        float asteroidCos = (float) Math.cos(asteroids.rotation[asteroid]);
+        float asteroidSin = (float) Math.sin(asteroids.rotation[asteroid]);
+        for (int i = 0; i < HULL.length; i += 2) {
+            float wx = hullScratch[i];
+            float wy = hullScratch[i + 1];
+            hullScratch[i] = wx * asteroidCos + wy * asteroidSin;
+            hullScratch[i + 1] = wy * asteroidCos - wx * asteroidSin;
+        }
+        return Polygons.overlap(AsteroidShapes.outline(shapeIndex), hullScratch);
+    }
+}
@@ -0,0 +1,201 @@
+package asteroids;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+// Background starfield rendered into cached offscreen layers.
+// Each parallax layer is split into horizontal bands, every band is a small
+// PGraphics that holds its stars as pixels. A frame only blits the bands and
+// re-rasterizes the stars of one band with their current twinkle brightness,
+// so the per-frame cost hardly depends on the number of stars.
+public class Starfield {
+    // Twinkle brightness over one period, map(sin(phase), -1, 1, 0.5, 1)
+    private static final int LUT_SIZE = 256;
+    private static final float[] TWINKLE = new float[LUT_SIZE];
+    private static final float LUT_SCALE = LUT_SIZE / PApplet.TWO_PI;
+
+    static {
+        for (int i = 0; i < LUT_SIZE; i++) {
+            TWINKLE[i] = 0.75f + 0.25f * (float) Math.sin(i * PApplet.TWO_PI / LUT_SIZE);
+        }
+    }
+
+    private static final int BANDS_PER_LAYER = 4;
+
+    private final int width;
+    private final int height;
+    private final int bandHeight;
+
+    // Parallax layers: drift factor relative to the ship and current scroll offset
+    private final int layerCount;
+    private final float[] parallax;
+    private final float[] offsetX;
+    private final float[] offsetY;
+    private int firstLayer = 0; // layers before this one are hidden, see setVisibleLayers()
+
+    // One tile per layer band (tile = layer * BANDS_PER_LAYER + band)
+    private final PGraphics[] tiles;
+    private final int[] tileStart; // stars of tile t are tileStart[t] .. tileStart[t + 1] - 1
+    private int nextTile = 0;
+
+    // Stars, positions are relative to their tile
+    private final float[] starX;
+    private final float[] starY;
+    private final float[] size;
+    private final float[] brightness;
+    private final float[] twinklePhase;
+    private final float[] twinkleSpeed;
+
+    private float time = 0;
+
+    public Starfield(PApplet p, Rng rng, int[] starsPerLayer, float[] parallax) {
+        this.width = p.width;
+        this.height = p.height;
+        this.bandHeight = (height + BANDS_PER_LAYER - 1) / BANDS_PER_LAYER;
+        this.layerCount = starsPerLayer.length;
+        this.parallax = parallax.clone();
+        this.offsetX = new float[layerCount];
+        this.offsetY = new float[layerCount];
+
+        int total = 0;
+        for (int count : starsPerLayer) {
+            total += count;
+        }
+        starX = new float[total];
+        starY = new float[total];
+        size = new float[total];
+        brightness = new float[total];
+        twinklePhase = new float[total];
+        twinkleSpeed = new float[total];
+
+        tiles = new PGraphics[layerCount * BANDS_PER_LAYER];
+        tileStart = new int[tiles.length + 1];
+        int star = 0;
+        for (int layer = 0; layer < layerCount; layer++) {
+            for (int band = 0; band < BANDS_PER_LAYER; band++) {
+                int tile = layer * BANDS_PER_LAYER + band;
+                tileStart[tile] = star;
+
+                // Spread the layer's stars evenly over its bands
+                int count = starsPerLayer[layer] / BANDS_PER_LAYER
+                        + (band < starsPerLayer[layer] % BANDS_PER_LAYER ? 1 : 0);
+                for (int i = 0; i < count; i++, star++) {
+                    size[star] = rng.random(1, 3);
+                    // Keep the whole star inside its tile so that it is never cut at a seam
+                    float r = size[star];
+                    starX[star] = rng.random(r, width - r);
+                    starY[star] = rng.random(r, bandHeight - r);
+                    brightness[star] = rng.random(100, 255);
+                    twinkleSpeed[star] = rng.random(1, 3);
+                    twinklePhase[star] = rng.random(PApplet.TWO_PI);
+                }
+
+                tiles[tile] = p.createGraphics(width, bandHeight);
+                tiles[tile].beginDraw();
+                tiles[tile].clear();
+                tiles[tile].loadPixels();
+                tiles[tile].endDraw();
+                refreshTile(tile);
+            }
+        }
+        tileStart[tiles.length] = star;
+    }
+
+    // Advances twinkling and scrolls the layers against the given velocity
+    public void update(float deltaTime, float velocityX, float velocityY) {
+        time += deltaTime;
+
+        for (int layer = 0; layer < layerCount; layer++) {
+            offsetX[layer] = wrap(offsetX[layer] - velocityX * parallax[layer] * deltaTime, width);
+            offsetY[layer] = wrap(offsetY[layer] - velocityY * parallax[layer] * deltaTime, height);
+        }
+
+        // Only one band of a visible layer gets new twinkle values per frame
+        int firstTile = firstLayer * BANDS_PER_LAYER;
+        if (nextTile < firstTile) {
+            nextTile = firstTile;
+        }
+        refreshTile(nextTile);
+        nextTile = nextTile + 1 < tiles.length ? nextTile + 1 : firstTile;
+    }
+
+    public void draw(PApplet p) {
+        for (int layer = firstLayer; layer < layerCount; layer++) {
+            for (int band = 0; band < BANDS_PER_LAYER; band++) {
+                PGraphics tile = tiles[layer * BANDS_PER_LAYER + band];
+                float x = offsetX[layer];
+                float y = wrap(offsetY[layer] + band * bandHeight, height);
+
+                // Tiles are screen-wide, so a scrolled tile needs its wrapped copies too
+                p.image(tile, x, y);
+                if (x > 0) p.image(tile, x - width, y);
+                if (y + bandHeight > height) {
+                    p.image(tile, x, y - height);
+                    if (x > 0) p.image(tile, x - width, y - height);
+                }
+            }
+        }
+    }
+
+    public int getStarCount() {
+        return starX.length;
+    }
+
+    // Shows only the given number of layers, nearest first; hiding the far layers
+    // saves their blits and their twinkle updates
+    public void setVisibleLayers(int visible) {
+        firstLayer = layerCount - Math.max(1, Math.min(layerCount, visible));
+    }
+
+    public int getVisibleLayers() {
+        return layerCount - firstLayer;
+    }
+
+    // Stars in the visible layers
+    public int getVisibleStarCount() {
+        return starX.length - tileStart[firstLayer * BANDS_PER_LAYER];
+    }
+
+    // Re-rasterizes the stars of one tile with their current twinkle brightness
+    private void refreshTile(int tile) {
+        PGraphics g = tiles[tile];
+        int[] pixels = g.pixels;
+        int pw = g.pixelWidth;
+        int ph = g.pixelHeight;
+        float scale = pw / (float) g.width; // pixel density of the tile
+
+        g.beginDraw();
+        for (int i = tileStart[tile]; i < tileStart[tile + 1]; i++) {
+            int lut = (int) ((twinklePhase[i] + twinkleSpeed[i] * time) * LUT_SCALE) & (LUT_SIZE - 1);
+            int gray = (int) (brightness[i] * TWINKLE[lut]);
+            int rgb = (gray << 16) | (gray << 8) | gray;
+
+            // Anti-aliased disc: alpha is the pixel's coverage of the star
+            float cx = starX[i] * scale;
+            float cy = starY[i] * scale;
+            float r = size[i] * 0.5f * scale;
+            int x0 = Math.max(0, (int) (cx - r));
+            int x1 = Math.min(pw - 1, (int) (cx + r));
+            int y0 = Math.max(0, (int) (cy - r));
+            int y1 = Math.min(ph - 1, (int) (cy + r));
+            for (int py = y0; py <= y1; py++) {
+                float dy = py + 0.5f - cy;
+                for (int px = x0; px <= x1; px++) {
+                    float dx = px + 0.5f - cx;
+                    float coverage = r + 0.5f - (float) Math.sqrt(dx * dx + dy * dy);
+                    if (coverage > 0) {
+                        int alpha = (int) (Math.min(coverage, 1.0f) * 255);
+                        pixels[py * pw + px] = (alpha << 24) | rgb;
+                    }
+                }
+            }
+        }
+        g.updatePixels();
+        g.endDraw();
+    }
+
+    private static float wrap(float value, float range) {
+        value %= range;
+        return value < 0 ? value + range : value;
+    }
+}
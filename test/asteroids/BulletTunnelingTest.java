@@ -0,0 +1,95 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Bullets are swept from their previous to their current position, so a hit on
+// the smallest asteroids must not depend on the step length. At 0.1 s a bullet
+// moves 40 px per step, more than a small asteroid is wide.
+class BulletTunnelingTest {
+    private static final float[] STEPS = {1 / 240f, 1 / 120f, 1 / 60f, 1 / 30f, 1 / 20f, 1 / 10f};
+    private static final int SHOTS = 200;
+
+    @Test
+    void aimedBulletsHitAtEveryStepSize() {
+        for (float dt : STEPS) {
+            Random random = new Random(4);
+            int hits = 0;
+            for (int k = 0; k < SHOTS; k++) {
+                float[] shot = randomShot(random);
+                hits += shoot(dt, shot[0], shot[1], shot[2], shot[3], 0);
+            }
+            assertEquals(SHOTS, hits, "hits at dt " + dt);
+        }
+    }
+
+    // The same shots, moved sideways just past the asteroid's bounding circle
+    @Test
+    void passingBulletsMissAtEveryStepSize() {
+        for (float dt : STEPS) {
+            Random random = new Random(4);
+            int hits = 0;
+            for (int k = 0; k < SHOTS; k++) {
+                float[] shot = randomShot(random);
+                hits += shoot(dt, shot[0], shot[1], shot[2], shot[3], Asteroid.sizeForType(Asteroid.SMALLEST) + 2);
+            }
+            assertEquals(0, hits, "hits at dt " + dt);
+        }
+    }
+
+    // Asteroids in the wrap margin stick out over the edge of the screen; a bullet
+    // leaving the screen through them is tested on its last movement before it dies
+    @Test
+    void asteroidsInTheWrapMarginAreHit() {
+        float margin = Asteroid.sizeForType(Asteroid.SMALLEST);
+        for (float dt : STEPS) {
+            assertEquals(1, shoot(dt, -margin * 0.5f, 300, 150, 300, 0), "left edge at dt " + dt);
+            assertEquals(1, shoot(dt, 800 + margin * 0.5f, 200, 650, 200, 0), "right edge at dt " + dt);
+            assertEquals(1, shoot(dt, 250, -margin * 0.5f, 250, 150, 0), "top edge at dt " + dt);
+            assertEquals(1, shoot(dt, 500, 600 + margin * 0.5f, 500, 450, 0), "bottom edge at dt " + dt);
+        }
+    }
+
+    // Asteroid position and a bullet start 60 to 300 px away from it, both on the screen
+    private static float[] randomShot(Random random) {
+        float x = 100 + random.nextFloat() * 600;
+        float y = 100 + random.nextFloat() * 400;
+        while (true) {
+            float angle = random.nextFloat() * 2 * (float) Math.PI;
+            float distance = 60 + random.nextFloat() * 240;
+            float fromX = x - (float) Math.sin(angle) * distance;
+            float fromY = y + (float) Math.cos(angle) * distance;
+            if (fromX > 0 && fromX < 800 && fromY > 0 && fromY < 600) {
+                return new float[] {x, y, fromX, fromY};
+            }
+        }
+    }
+
+    // Fires one bullet from (fromX, fromY) at a resting small asteroid at (x, y),
+    // offset sideways by the given distance. Returns 1 for a hit, 0 for a miss.
+    private static int shoot(float dt, float x, float y, float fromX, float fromY, float offset) {
+        GameSimulation sim = new GameSimulation(800, 600, 1);
+        sim.clearEntities();
+        Archetype asteroids = sim.getAsteroids();
+        int i = sim.spawnAsteroid(x, y, Asteroid.SMALLEST);
+        asteroids.vx[i] = 0;
+        asteroids.vy[i] = 0;
+        asteroids.spin[i] = 0;
+
+        // Angle 0 is up, the direction is (sin, -cos)
+        float dx = x - fromX;
+        float dy = y - fromY;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        float startX = fromX - dy / length * offset;
+        float startY = fromY + dx / length * offset;
+        sim.fireBullet(startX, startY, (float) Math.atan2(dx, -dy));
+
+        for (int s = 0; s < Math.ceil(2 / dt) && sim.getBullets().size() > 0; s++) {
+            sim.step(dt, 0);
+        }
+        return sim.getScore() > 0 ? 1 : 0;
+    }
+}
@@ -0,0 +1,81 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// The grid must never lose a pair the brute-force loop finds. It may return
+// extra candidates (that is what the exact test is for), but each only once.
+class CollisionGridTest {
+    private static final float WIDTH = 800;
+    private static final float HEIGHT = 600;
+    private static final float[] SIZES = {50, 30, 15};
+
+    @Test
+    void findsEveryPairOfTheBruteForceLoop() {
+        Random random = new Random(1);
+        int pairs = 0;
+        for (int world = 0; world < 200; world++) {
+            // Items anywhere in the world including the wrap margin of the largest size
+            int n = random.nextInt(300);
+            float[] x = new float[n];
+            float[] y = new float[n];
+            float[] size = new float[n];
+            CollisionGrid grid = new CollisionGrid(WIDTH, HEIGHT, Asteroid.MAX_SIZE);
+            grid.begin(n);
+            for (int i = 0; i < n; i++) {
+                size[i] = SIZES[random.nextInt(SIZES.length)];
+                x[i] = -size[i] + random.nextFloat() * (WIDTH + 2 * size[i]);
+                y[i] = -size[i] + random.nextFloat() * (HEIGHT + 2 * size[i]);
+                grid.insert(i, x[i], y[i]);
+            }
+            grid.end();
+
+            boolean[] candidate = new boolean[n];
+            for (int q = 0; q < 200; q++) {
+                // Point queries (bullets) and circle queries (the ship), also in the margin
+                float qx = -Asteroid.MAX_SIZE + random.nextFloat() * (WIDTH + 2 * Asteroid.MAX_SIZE);
+                float qy = -Asteroid.MAX_SIZE + random.nextFloat() * (HEIGHT + 2 * Asteroid.MAX_SIZE);
+                float radius = random.nextBoolean() ? 0 : 12;
+
+                Arrays.fill(candidate, false);
+                int count = grid.query(qx, qy, radius);
+                for (int k = 0; k < count; k++) {
+                    int i = grid.result(k);
+                    assertFalse(candidate[i], "item " + i + " returned twice");
+                    candidate[i] = true;
+                }
+
+                for (int i = 0; i < n; i++) {
+                    float dx = x[i] - qx;
+                    float dy = y[i] - qy;
+                    float reach = size[i] + radius;
+                    if (dx * dx + dy * dy < reach * reach) {
+                        pairs++;
+                        assertTrue(candidate[i], "grid missed item " + i + " at (" + x[i] + ", " + y[i]
+                                + ") for the query at (" + qx + ", " + qy + ")");
+                    }
+                }
+            }
+        }
+        assertTrue(pairs > 10000, "too few overlapping pairs to mean anything: " + pairs);
+    }
+
+    // Items on opposite sides of the wrap seam share neighbouring cells
+    @Test
+    void queriesReachAcrossTheSeam() {
+        CollisionGrid grid = new CollisionGrid(WIDTH, HEIGHT, Asteroid.MAX_SIZE);
+        grid.begin(2);
+        grid.insert(0, -40, 300);        // left margin
+        grid.insert(1, WIDTH + 40, 300); // right margin
+        grid.end();
+
+        assertEquals(2, grid.query(10, 300, 0), "near the left edge");
+        assertEquals(2, grid.query(WIDTH - 10, 300, 0), "near the right edge");
+    }
+}
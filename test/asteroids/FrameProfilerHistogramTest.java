@@ -0,0 +1,56 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FrameProfilerHistogramTest {
+    private static final int LAST = FrameProfiler.Histogram.BUCKETS - 1;
+
+    // Every bucket ends at its upper bound and the next value starts the next bucket
+    @Test
+    void upperBoundInvertsBucket() {
+        assertEquals(Long.MAX_VALUE, FrameProfiler.Histogram.upperBound(LAST));
+        assertEquals(LAST, FrameProfiler.Histogram.bucket(Long.MAX_VALUE));
+        long previous = -1;
+        for (int b = 0; b < LAST; b++) {
+            long upper = FrameProfiler.Histogram.upperBound(b);
+            assertTrue(upper > previous, "bounds must grow, bucket " + b);
+            assertEquals(b, FrameProfiler.Histogram.bucket(upper), "bucket of upperBound(" + b + ")");
+            assertEquals(b + 1, FrameProfiler.Histogram.bucket(upper + 1), "bucket after upperBound(" + b + ")");
+            previous = upper;
+        }
+    }
+
+    // A value is reported as the upper bound of its bucket, at most 1/SUB_BUCKETS above it
+    @Test
+    void roundTripStaysWithinOneSubBucket() {
+        Random random = new Random(12);
+        for (int i = 0; i < 100000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63); // any magnitude
+            long reported = FrameProfiler.Histogram.upperBound(FrameProfiler.Histogram.bucket(value));
+            assertTrue(reported >= value, value + " reported as " + reported);
+            assertTrue(reported - value <= value / FrameProfiler.Histogram.SUB_BUCKETS,
+                    value + " reported as " + reported);
+        }
+        for (long value = 0; value < FrameProfiler.Histogram.SUB_BUCKETS; value++) {
+            assertEquals(value, FrameProfiler.Histogram.upperBound(FrameProfiler.Histogram.bucket(value)));
+        }
+        assertEquals(16, FrameProfiler.Histogram.upperBound(FrameProfiler.Histogram.bucket(16)));
+    }
+
+    @Test
+    void percentilesAreCloseToTheSamples() {
+        FrameProfiler.Histogram h = new FrameProfiler.Histogram();
+        for (int i = 0; i < 99; i++) {
+            h.record(1_100_000); // 1.10 ms
+        }
+        h.record(20_000_000);
+        long p50 = h.percentile(0.5);
+        assertTrue(p50 >= 1_100_000 && p50 <= 1_100_000 * 17 / 16, "p50 of 1.10 ms was " + p50);
+        assertEquals(20_000_000, h.percentile(1.0));
+    }
+}
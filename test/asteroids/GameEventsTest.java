@@ -0,0 +1,151 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class GameEventsTest {
+    private static final float DT = 1 / 120f;
+
+    // Counts the records of the event stream, per type and for the current step
+    private static class Recorder implements GameSimulation.Listener {
+        final int[] total = new int[4];
+        final int[] step = new int[4];
+        int scoreSum;
+        int explosions;
+        int splitGeneration = -1;
+        float splitX;
+        float splitY;
+
+        public void onExplosion() {
+            explosions++;
+        }
+
+        public void onGameEvent(int type, float x, float y, int value) {
+            total[type]++;
+            step[type]++;
+            if (type == GameEvents.SCORE) {
+                scoreSum += value;
+            }
+            if (type == GameEvents.ASTEROID_SPLIT) {
+                splitGeneration = value;
+                splitX = x;
+                splitY = y;
+            }
+        }
+    }
+
+    @Test
+    void scoreEventsAddUpToTheScore() {
+        GameSimulation sim = new GameSimulation(800, 600, 11);
+        sim.spawnAsteroids(20);
+        Recorder recorder = new Recorder();
+        sim.setListener(recorder);
+        int[] inputs = {GameSimulation.INPUT_FIRE, GameSimulation.INPUT_LEFT, GameSimulation.INPUT_FIRE};
+        for (int i = 0; i < 20000 && !sim.isGameOver(); i++) {
+            sim.step(DT, inputs[(i / 30) % inputs.length]);
+        }
+
+        assertTrue(recorder.total[GameEvents.SCORE] > 0, "nothing scored");
+        assertEquals(recorder.total[GameEvents.ASTEROID_HIT], recorder.total[GameEvents.SCORE], "one score per hit");
+        assertEquals(sim.getScore(), recorder.scoreSum, "sum of the SCORE events");
+        assertEquals(3 - sim.getLives(), recorder.total[GameEvents.SHIP_DESTROYED], "crashes");
+    }
+
+    // Every split adds two asteroids of the next generation, every hit removes one
+    @Test
+    void splitsCreateTwoFragmentsEach() {
+        GameSimulation sim = new GameSimulation(800, 600, 5);
+        sim.spawnAsteroids(20);
+        Recorder recorder = new Recorder();
+        sim.setListener(recorder);
+        int[] inputs = {GameSimulation.INPUT_FIRE, GameSimulation.INPUT_RIGHT, GameSimulation.INPUT_FIRE};
+        for (int i = 0; i < 20000 && !sim.isGameOver(); i++) {
+            Arrays.fill(recorder.step, 0);
+            int before = sim.getAsteroids().size();
+            sim.step(DT, inputs[(i / 30) % inputs.length]);
+            int after = sim.getAsteroids().size();
+            if (after > 0 && recorder.step[GameEvents.ASTEROID_HIT] < before) { // not a new wave
+                assertEquals(before - recorder.step[GameEvents.ASTEROID_HIT] + 2 * recorder.step[GameEvents.ASTEROID_SPLIT],
+                        after, "asteroids after step " + i);
+            }
+        }
+        assertTrue(recorder.total[GameEvents.ASTEROID_SPLIT] > 0, "nothing split");
+    }
+
+    @Test
+    void splitSpawnsFragmentsWhereTheAsteroidWas() {
+        GameSimulation sim = new GameSimulation(800, 600, 2);
+        sim.clearEntities();
+        Archetype asteroids = sim.getAsteroids();
+        int i = sim.spawnAsteroid(200, 300, 0);
+        asteroids.vx[i] = 0;
+        asteroids.vy[i] = 0;
+        Recorder recorder = new Recorder();
+        sim.setListener(recorder);
+
+        // Fired to the right from 100 px away
+        sim.fireBullet(100, 300, (float) Math.PI / 2);
+        for (int s = 0; s < 60 && recorder.total[GameEvents.ASTEROID_SPLIT] == 0; s++) {
+            sim.step(DT, 0);
+        }
+
+        assertEquals(1, recorder.total[GameEvents.ASTEROID_HIT], "hits");
+        assertEquals(1, recorder.total[GameEvents.ASTEROID_SPLIT], "splits");
+        assertEquals(1, recorder.splitGeneration, "fragment generation");
+        assertEquals(200, recorder.splitX, 0.001f, "split x");
+        assertEquals(300, recorder.splitY, 0.001f, "split y");
+        assertEquals(2, asteroids.size(), "fragments");
+        for (int k = 0; k < 2; k++) {
+            assertEquals(1, asteroids.generation[k], "generation of fragment " + k);
+            assertEquals(200, asteroids.x[k], 0.001f, "x of fragment " + k);
+            assertEquals(300, asteroids.y[k], 0.001f, "y of fragment " + k);
+        }
+        assertEquals((3 - 0) * 10, sim.getScore());
+    }
+
+    // Several hits in one step still play one explosion
+    @Test
+    void oneExplosionPerStep() {
+        GameSimulation sim = new GameSimulation(800, 600, 2);
+        sim.clearEntities();
+        Recorder recorder = new Recorder();
+        sim.setListener(recorder);
+        for (int k = 0; k < 3; k++) {
+            int i = sim.spawnAsteroid(200 + k * 200, 100, 2);
+            sim.getAsteroids().vx[i] = 0;
+            sim.getAsteroids().vy[i] = 0;
+            sim.fireBullet(200 + k * 200, 100, 0); // starts inside the asteroid
+        }
+        sim.step(DT, 0);
+
+        assertEquals(3, recorder.total[GameEvents.ASTEROID_HIT], "hits");
+        assertEquals(0, recorder.total[GameEvents.ASTEROID_SPLIT], "the smallest asteroids do not split");
+        assertEquals(1, recorder.explosions, "explosion sounds");
+    }
+
+    // Records come out in the order they went in, also when the ring wraps and grows
+    @Test
+    void ringBufferKeepsTheOrder() {
+        GameEvents events = new GameEvents(2);
+        for (int k = 0; k < 3; k++) {
+            events.add(GameEvents.SCORE, k, 0, k);
+        }
+        events.poll();
+        events.poll();
+        for (int k = 3; k < 8; k++) {
+            events.add(GameEvents.SCORE, k, 0, k);
+        }
+        assertEquals(6, events.size());
+        for (int k = 2; k < 8; k++) {
+            int e = events.poll();
+            assertEquals(k, events.value[e], "record " + k);
+            assertEquals(k, events.x[e], 0.001f, "x of record " + k);
+        }
+        assertTrue(events.isEmpty());
+        assertEquals(8, events.capacity());
+    }
+}
@@ -0,0 +1,75 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+// The game loop must not allocate once it is warmed up: bullets, asteroids and
+// particles live in preallocated arrays that only grow while the game is young.
+// Measured with the allocation counter of the current thread, so the steps run
+// on the test thread (the worlds stay below the parallel threshold).
+class GameSimulationAllocationTest {
+    private static final float DT = 1 / 120f;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Firing nonstop: bullets are spawned and compacted, asteroids split and die,
+    // waves respawn and lost games restart. None of it may allocate after the warm-up.
+    @Test
+    void entityChurnDoesNotAllocate() {
+        assertTrue(THREADS.isThreadAllocatedMemorySupported(), "allocation counter not supported");
+        GameSimulation sim = new GameSimulation(800, 600, 3);
+        sim.spawnAsteroids(20);
+        int[] hits = new int[1];
+        sim.setListener(new GameSimulation.Listener() {
+            public void onExplosion() {
+                hits[0]++;
+            }
+        });
+        int[] inputs = {GameSimulation.INPUT_FIRE, GameSimulation.INPUT_LEFT, GameSimulation.INPUT_FIRE};
+        play(sim, inputs, 10000);
+
+        hits[0] = 0;
+        long before = allocatedBytes();
+        play(sim, inputs, 3000);
+        long allocated = allocatedBytes() - before;
+
+        assertTrue(hits[0] > 0, "nothing was hit, the test exercised nothing");
+        assertEquals(0, allocated, "bytes allocated in 3000 ticks");
+    }
+
+    // Every control and the idle ship: movement, rotation, thrust, wrapping and the
+    // collision tests run on primitive fields, a tick allocates nothing at all
+    @Test
+    void tickDoesNotAllocate() {
+        GameSimulation sim = new GameSimulation(800, 600, 7);
+        sim.spawnAsteroids(200);
+        int[] inputs = {GameSimulation.INPUT_THRUST, GameSimulation.INPUT_LEFT, GameSimulation.INPUT_RIGHT,
+                GameSimulation.INPUT_FIRE, 0};
+        play(sim, inputs, 5000);
+
+        long before = allocatedBytes();
+        play(sim, inputs, 5000);
+        long allocated = allocatedBytes() - before;
+
+        assertEquals(0, allocated, "bytes allocated in 5000 ticks");
+    }
+
+    // Steps with the inputs held in turn for 30 ticks each, a lost game starts over
+    static void play(GameSimulation sim, int[] inputs, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            if (sim.isGameOver()) {
+                sim.restart();
+            }
+            sim.step(DT, inputs[(i / 30) % inputs.length]);
+        }
+    }
+}
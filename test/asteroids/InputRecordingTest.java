@@ -0,0 +1,107 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class InputRecordingTest {
+    @Test
+    void playsBackWhatWasRecorded() throws IOException {
+        Path file = record(1000);
+        InputPlayer player = new InputPlayer(file.toString());
+        assertEquals(42, player.getSeed());
+        assertEquals(1 / 120f, player.getFixedDt(), 0, "fixed dt");
+        for (int f = 0; f < 1000; f++) {
+            assertTrue(player.next(), "frame " + f);
+            assertEquals(stepsOf(f), player.getSteps(), "steps of frame " + f);
+            assertEquals(inputsOf(f), player.getInputs(), "inputs of frame " + f);
+            assertEquals(particlesOf(f), player.getExplosionParticles(), "particles of frame " + f);
+            assertEquals(f == 500, player.isRestart(), "restart of frame " + f);
+            assertEquals(frameNanosOf(f) / 1000 * 1000, player.getFrameNanos(), "time of frame " + f);
+        }
+        assertFalse(player.next(), "end of the recording");
+    }
+
+    // A header alone (17 bytes) and a single frame are valid recordings
+    @Test
+    void playsRecordingsWithoutFramesOrWithOne() throws IOException {
+        Path empty = record(0);
+        assertEquals(InputRecorder.HEADER_BYTES, Files.size(empty));
+        assertFalse(new InputPlayer(empty.toString()).next());
+
+        InputPlayer player = new InputPlayer(record(1).toString());
+        assertTrue(player.next());
+        assertEquals(stepsOf(0), player.getSteps());
+        assertFalse(player.next());
+    }
+
+    // A killed session leaves a cut-off frame at the end, the frames before it still play
+    @Test
+    void dropsACutOffLastFrame() throws IOException {
+        Path file = record(1000);
+        byte[] complete = Files.readAllBytes(file);
+        for (int cut = 1; cut <= 4; cut++) {
+            Path truncated = Files.createTempFile("truncated", ".rec");
+            truncated.toFile().deleteOnExit();
+            Files.write(truncated, Arrays.copyOf(complete, complete.length - cut));
+
+            InputPlayer player = new InputPlayer(truncated.toString());
+            int frames = 0;
+            while (player.next()) {
+                frames++;
+            }
+            assertTrue(frames >= 998 && frames < 1000, "frames left after cutting " + cut + " bytes: " + frames);
+            assertFalse(player.next(), "stays at the end");
+        }
+    }
+
+    // There is one format version, files of any other are not played
+    @Test
+    void rejectsOtherVersions() throws IOException {
+        Path file = record(10);
+        byte[] bytes = Files.readAllBytes(file);
+        for (int version : new int[] {0, InputRecorder.VERSION + 1}) {
+            bytes[4] = (byte) version; // after the magic number
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> new InputPlayer(file.toString()), "version " + version);
+        }
+    }
+
+    private static Path record(int frames) throws IOException {
+        Path file = Files.createTempFile("session", ".rec");
+        file.toFile().deleteOnExit();
+        try (InputRecorder recorder = new InputRecorder(file.toString(), 42, 1 / 120f)) {
+            for (int f = 0; f < frames; f++) {
+                if (f == 500) {
+                    recorder.restart();
+                }
+                recorder.frame(stepsOf(f), inputsOf(f), particlesOf(f), frameNanosOf(f));
+            }
+        }
+        return file;
+    }
+
+    private static int stepsOf(int frame) {
+        return frame % 7 == 0 ? 3 : 2;
+    }
+
+    private static int inputsOf(int frame) {
+        return (frame / 40) % 16;
+    }
+
+    private static int particlesOf(int frame) {
+        return frame < 600 ? GameSimulation.NUM_EXPLOSION_PARTICLES : 30;
+    }
+
+    private static long frameNanosOf(int frame) {
+        return 16_666_667L + (frame % 5) * 1_234_567L;
+    }
+}
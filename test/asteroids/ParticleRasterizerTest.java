@@ -0,0 +1,132 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import processing.core.PConstants;
+import processing.core.PImage;
+
+// Compares rasterize() with what the ellipse path draws: an anti-aliased disc of
+// the particle's diameter in its color at its alpha, here computed exactly by
+// supersampling every pixel on a black background.
+class ParticleRasterizerTest {
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+    private static final int REFERENCE_SAMPLES = 16; // per pixel and axis
+    private static final int[] COLORS = {0xFFFF9600, 0xFFFFC832, 0xFFFFFFC8};
+
+    private final PImage layer = new PImage(WIDTH, HEIGHT, PConstants.RGB);
+    private final ParticleRasterizer rasterizer = new ParticleRasterizer(layer);
+
+    // Particles far enough apart not to overlap, at random subpixel positions,
+    // with the sizes and alphas the particle system produces
+    @Test
+    void matchesSupersampledEllipses() {
+        Random random = new Random(3);
+        int n = 300;
+        float[] x = new float[n];
+        float[] y = new float[n];
+        float[] size = new float[n];
+        int[] color = new int[n];
+        float[] alpha = new float[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 20 + (i % 20) * 38 + random.nextFloat();
+            y[i] = 20 + (i / 20) * 38 + random.nextFloat();
+            size[i] = 2 + random.nextFloat() * 4;
+            color[i] = COLORS[i % COLORS.length];
+            alpha[i] = 20 + random.nextFloat() * 235;
+        }
+        assertEquals(n, rasterizer.rasterize(layer.pixels, n, x, y, size, color, alpha));
+
+        long pixelError = 0;
+        int pixels = 0;
+        for (int i = 0; i < n; i++) {
+            // Brightness of the whole dot, the stamps may shift light by a fraction of a pixel
+            double expected = 0;
+            double actual = 0;
+            int reach = (int) Math.ceil(size[i] * 0.5f) + 2;
+            int cx = (int) Math.floor(x[i]);
+            int cy = (int) Math.floor(y[i]);
+            for (int py = cy - reach; py <= cy + reach; py++) {
+                for (int px = cx - reach; px <= cx + reach; px++) {
+                    int reference = reference(px, py, x[i], y[i], size[i], color[i], alpha[i]);
+                    int pixel = layer.pixels[py * WIDTH + px];
+                    for (int shift = 0; shift <= 16; shift += 8) {
+                        int want = (reference >> shift) & 0xFF;
+                        int got = (pixel >> shift) & 0xFF;
+                        expected += want;
+                        actual += got;
+                        pixelError += Math.abs(want - got);
+                    }
+                    pixels += 3;
+                }
+            }
+            assertEquals(expected, actual, Math.max(expected * 0.08, 3), "brightness of particle " + i);
+        }
+        double meanError = (double) pixelError / pixels;
+        assertTrue(meanError < 2, "mean error per channel " + meanError + " of 255");
+    }
+
+    @Test
+    void blendsAdditivelyAndSaturates() {
+        float[] x = {100.5f};
+        float[] y = {100.5f};
+        float[] size = {6};
+        int[] color = {0xFFFF9600};
+        float[] alpha = {128};
+        rasterizer.rasterize(layer.pixels, 1, x, y, size, color, alpha);
+        int once = (layer.pixels[100 * WIDTH + 100] >> 8) & 0xFF;
+        rasterizer.rasterize(layer.pixels, 1, x, y, size, color, alpha);
+        int twice = (layer.pixels[100 * WIDTH + 100] >> 8) & 0xFF;
+        assertEquals(2 * once, twice, 1, "green after two particles");
+
+        for (int k = 0; k < 10; k++) {
+            rasterizer.rasterize(layer.pixels, 1, x, y, size, color, alpha);
+        }
+        int center = layer.pixels[100 * WIDTH + 100];
+        assertEquals(0xFFFF0000, center & 0xFFFF0000, "red saturates at 255");
+        assertEquals(0, center & 0xFF, "blue stays 0");
+    }
+
+    @Test
+    void clearsWhatWasDrawnAndSkipsWhatIsOutside() {
+        float[] x = {50, -20, 400, 790};
+        float[] y = {50, 300, 700, 590};
+        float[] size = {5, 5, 5, 5};
+        int[] color = {COLORS[0], COLORS[1], COLORS[2], COLORS[0]};
+        float[] alpha = {255, 255, 255, 1};
+        assertEquals(1, rasterizer.rasterize(layer.pixels, 4, x, y, size, color, alpha),
+                "only the first particle is on the layer and visible");
+        assertTrue(layer.pixels[50 * WIDTH + 50] != 0xFF000000, "particle drawn");
+
+        rasterizer.clearDirty(layer.pixels);
+        for (int i = 0; i < layer.pixels.length; i++) {
+            assertEquals(0xFF000000, layer.pixels[i], "pixel " + i + " after clearing");
+        }
+    }
+
+    // Color of pixel (px, py) of a disc with the given diameter centered at (x, y),
+    // alpha-blended onto black
+    private static int reference(int px, int py, float x, float y, float diameter, int color, float alpha) {
+        float radiusSq = diameter * diameter * 0.25f;
+        int inside = 0;
+        for (int sy = 0; sy < REFERENCE_SAMPLES; sy++) {
+            float dy = py + (sy + 0.5f) / REFERENCE_SAMPLES - y;
+            for (int sx = 0; sx < REFERENCE_SAMPLES; sx++) {
+                float dx = px + (sx + 0.5f) / REFERENCE_SAMPLES - x;
+                if (dx * dx + dy * dy <= radiusSq) {
+                    inside++;
+                }
+            }
+        }
+        float coverage = inside / (float) (REFERENCE_SAMPLES * REFERENCE_SAMPLES) * alpha / 255;
+        int r = Math.round(((color >> 16) & 0xFF) * coverage);
+        int g = Math.round(((color >> 8) & 0xFF) * coverage);
+        int b = Math.round((color & 0xFF) * coverage);
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+}
@@ -0,0 +1,95 @@
+package asteroids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SoundManagerTest {
+    // Output whose open() waits until the test lets it finish
+    private static class SlowOutput implements AudioOutput {
+        final CountDownLatch opening = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile int opens = 0;
+        volatile int closes = 0;
+
+        public void open(float sampleRate, int blockBytes) throws Exception {
+            opening.countDown();
+            release.await();
+            opens++;
+        }
+
+        public void write(byte[] data, int length) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        public void close() {
+            closes++;
+        }
+    }
+
+    @Test
+    void closeDuringStartLeavesNothingRunning() throws Exception {
+        SlowOutput output = new SlowOutput();
+        SoundManager sound = new SoundManager(output);
+        Thread loader = new Thread(sound::start, "asset-loader");
+        loader.start();
+        assertTrue(output.opening.await(5, TimeUnit.SECONDS), "start() did not open the output");
+
+        sound.close();
+        output.release.countDown();
+        loader.join(5000);
+
+        assertFalse(loader.isAlive(), "start() did not return");
+        assertEquals(1, output.opens);
+        assertEquals(1, output.closes, "the device opened after close() is closed again");
+        assertFalse(mixerRunning(), "mixer thread started after close()");
+    }
+
+    @Test
+    void startAfterCloseDoesNothing() {
+        SlowOutput output = new SlowOutput();
+        output.release.countDown();
+        SoundManager sound = new SoundManager(output);
+        sound.close();
+        sound.start();
+
+        assertEquals(0, output.opens);
+        assertEquals(0, output.closes);
+        assertFalse(mixerRunning());
+    }
+
+    @Test
+    void closeStopsTheMixerOnce() throws Exception {
+        SlowOutput output = new SlowOutput();
+        output.release.countDown();
+        SoundManager sound = new SoundManager(output);
+        sound.start();
+        assertTrue(mixerRunning(), "mixer thread not started");
+
+        sound.close();
+        sound.close();
+        assertEquals(1, output.closes);
+        for (int i = 0; i < 100 && mixerRunning(); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(mixerRunning(), "mixer thread still running");
+    }
+
+    private static boolean mixerRunning() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("sound-mixer") && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}